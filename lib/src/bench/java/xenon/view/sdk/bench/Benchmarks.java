@@ -0,0 +1,45 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Benchmarks.java
+ *
+ * Entry point for the micro benchmarks (gradle bench -Pbenchmarks=name,...).
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Benchmarks {
+    public interface Benchmark {
+        void run() throws Exception;
+    }
+
+    private static final Map<String, Benchmark> all = new LinkedHashMap<String, Benchmark>() {{
+        put("transport", new TransportBench());
+        put("journey-buffer", new JourneyBufferBench());
+        put("event-footprint", new EventFootprintBench());
+        put("journal", new JournalBench());
+        put("json-body", new JsonBodyBench());
+        put("codec", new CodecBench());
+        put("templates", new TemplateBench());
+        put("tls", new TlsBench());
+    }};
+
+    public static void main(String[] args) throws Exception {
+        List<String> selected = Arrays.asList(args);
+        for (Map.Entry<String, Benchmark> entry : all.entrySet()) {
+            if (!selected.isEmpty() && !selected.contains(entry.getKey())) continue;
+            System.out.println("== " + entry.getKey());
+            entry.getValue().run();
+        }
+        System.exit(0);
+    }
+
+    static String perOp(long nanos, long ops) {
+        return String.format("%.1f us/op", nanos / 1000.0 / ops);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * CodecBench.java
+ *
+ * Bytes sent and encode time of a 10k event journey request per wire codec, then end to end
+ * against the local collector once it advertises the codec.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.Codec;
+import xenon.view.sdk.api.fetch.Codecs;
+import xenon.view.sdk.api.fetch.EncodedBody;
+import xenon.view.sdk.api.fetch.JsonFetcher;
+
+public class CodecBench implements Benchmarks.Benchmark {
+    private static final int requests = 200;
+
+    @Override
+    public void run() throws Exception {
+        JSONObject body = JsonBodyBench.request(JsonBodyBench.journey());
+        Codec[] codecs = {Codecs.json, Codecs.cbor, Codecs.messagePack};
+        for (int round = 0; round < 3; round++) {
+            for (Codec codec : codecs) encode(codec, body);
+        }
+        try (LocalCollector collector = new LocalCollector()) {
+            for (Codec codec : codecs) send(codec, collector, body);
+        } finally {
+            Codecs.use(new Codecs());
+        }
+    }
+
+    private void encode(Codec codec, JSONObject body) throws Exception {
+        long bytes = 0;
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) bytes = JsonBodyBench.size(new EncodedBody(codec, body));
+        System.out.printf("%-8s %,9d bytes, %s encoding%n", codec.mediaType().subtype(), bytes,
+                Benchmarks.perOp(System.nanoTime() - begin, requests));
+    }
+
+    private void send(Codec codec, LocalCollector collector, JSONObject body) throws Exception {
+        collector.acceptPost = codec.mediaType().type() + "/" + codec.mediaType().subtype();
+        Codecs.use(new Codecs(codec));
+        JsonFetcher fetcher = new JsonFetcher(OkHttpClient::new);
+        JSONObject params = new JSONObject()
+                .put("url", collector.url() + "/journey")
+                .put("method", "POST")
+                .put("body", body);
+        // the first response advertises the codec
+        fetcher.fetch(params).get();
+        long before = collector.bytesReceived.get();
+        long begin = System.nanoTime();
+        for (int i = 0; i < 20; i++) fetcher.fetch(params).get();
+        System.out.printf("%-8s %,9d bytes received per request, %s%n", codec.mediaType().subtype(),
+                (collector.bytesReceived.get() - before) / 20, Benchmarks.perOp(System.nanoTime() - begin, 20));
+    }
+}
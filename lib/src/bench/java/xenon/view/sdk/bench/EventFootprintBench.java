@@ -0,0 +1,75 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * EventFootprintBench.java
+ *
+ * Heap retained per buffered event: the previous JSONObject events against the typed events.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import org.json.JSONObject;
+import xenon.view.sdk.journey.Event;
+import xenon.view.sdk.journey.Milestone;
+import xenon.view.sdk.journey.Outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventFootprintBench implements Benchmarks.Benchmark {
+    private static final int events = 300000;
+
+    interface Maker {
+        Object make(int i, double timestamp);
+    }
+
+    // Caller supplied strings are shared by both models, so only the event itself is measured.
+    private final String[] names = {"Scale Recipe", "Search", "Checkout", "Share"};
+
+    @Override
+    public void run() throws Exception {
+        measure("JSONObject", (i, timestamp) -> {
+            String name = names[i & 3];
+            switch (i % 3) {
+                case 0:
+                    return new JSONObject().put("category", "Feature").put("action", "Attempted")
+                            .put("name", name).put("details", "detail").put("timestamp", timestamp);
+                case 1:
+                    return new JSONObject().put("category", "Content").put("action", "Viewed")
+                            .put("type", name).put("identifier", "id").put("timestamp", timestamp);
+                default:
+                    return new JSONObject().put("superOutcome", "Lead Capture").put("outcome", name)
+                            .put("result", "success").put("timestamp", timestamp);
+            }
+        });
+        measure("typed Event", (i, timestamp) -> {
+            String name = names[i & 3];
+            Event event;
+            switch (i % 3) {
+                case 0:
+                    event = new Milestone("Feature", "Attempted").name(name).details("detail");
+                    break;
+                case 1:
+                    event = new Milestone("Content", "Viewed").type(name).identifier("id");
+                    break;
+                default:
+                    event = new Outcome("Lead Capture", name, "success");
+            }
+            return event.at(timestamp);
+        });
+    }
+
+    private void measure(String model, Maker maker) {
+        List<Object> retained = new ArrayList<>(events);
+        long before = used();
+        for (int i = 0; i < events; i++) retained.add(maker.make(i, System.currentTimeMillis() / 1000.0));
+        long after = used();
+        System.out.printf("%-11s %,d bytes/event (%d retained)%n", model, (after - before) / events, retained.size());
+    }
+
+    private static long used() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
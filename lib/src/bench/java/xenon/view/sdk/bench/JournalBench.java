@@ -0,0 +1,71 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * JournalBench.java
+ *
+ * Cost of journaling one event on the add path, including compaction as batches commit.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import xenon.view.sdk.journey.Journal;
+import xenon.view.sdk.journey.JourneyBuffer;
+import xenon.view.sdk.journey.JourneyLimits;
+import xenon.view.sdk.journey.Milestone;
+
+import java.io.File;
+import java.util.Collections;
+
+public class JournalBench implements Benchmarks.Benchmark {
+    private static final int appends = 2000000;
+    private static final int batch = 1000;
+
+    @Override
+    public void run() throws Exception {
+        File path = File.createTempFile("bench", ".journal");
+        path.delete();
+        Milestone[] events = new Milestone[16];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new Milestone("Feature", "Attempted").name("Scale Recipe " + i).details("servings");
+            events[i].at(System.currentTimeMillis() / 1000.0);
+        }
+        try (Journal journal = new Journal(path, 16 * 1024 * 1024)) {
+            for (int round = 0; round < 3; round++) {
+                long elapsed = appendAll(journal, events);
+                System.out.println("Journal.append:        " + Benchmarks.perOp(elapsed, appends));
+            }
+            System.out.println("journal overflows:     " + journal.overflows());
+        }
+        path.delete();
+        for (int round = 0; round < 3; round++) {
+            System.out.println("JourneyBuffer.add:     " + Benchmarks.perOp(addAll(null, events), appends));
+        }
+        try (Journal journal = new Journal(path, 16 * 1024 * 1024)) {
+            for (int round = 0; round < 3; round++) {
+                System.out.println("journaled buffer add:  " + Benchmarks.perOp(addAll(journal, events), appends));
+            }
+        }
+        path.delete();
+    }
+
+    // Commits every batch, the way a client that keeps up with its commits would.
+    private long appendAll(Journal journal, Milestone[] events) {
+        long epoch = journal.lastEpoch() + 1;
+        long begin = System.nanoTime();
+        for (int i = 0; i < appends; i++) {
+            journal.append(epoch, events[i & 15]);
+            if (i % batch == batch - 1) journal.commit(Collections.singleton(epoch++));
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private long addAll(Journal journal, Milestone[] events) {
+        JourneyBuffer buffer = new JourneyBuffer(JourneyLimits.unbounded(), journal);
+        long begin = System.nanoTime();
+        for (int i = 0; i < appends; i++) {
+            buffer.add(events[i & 15]);
+            if (i % batch == batch - 1) buffer.committed(buffer.drain());
+        }
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * JourneyBufferBench.java
+ *
+ * Append throughput of the lock-free journey buffer against a locked JSONArray by thread count,
+ * and the cost of a failed commit (drain, restore) by journey size.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import xenon.view.sdk.journey.JourneyBuffer;
+import xenon.view.sdk.journey.JourneyLimits;
+import xenon.view.sdk.journey.Milestone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class JourneyBufferBench implements Benchmarks.Benchmark {
+    private static final int perThread = 200000;
+    interface Appender {
+        void add(String name) throws JSONException;
+    }
+
+    // The previous Xenon.journeyAdd, made thread safe with a lock.
+    static class LockedArray implements Appender {
+        private JSONArray journey = new JSONArray();
+
+        public synchronized void add(String name) throws JSONException {
+            JSONObject event = new JSONObject().put("name", name);
+            if (journey.length() > 0) {
+                JSONObject last = journey.getJSONObject(journey.length() - 1);
+                if (last.getString("name").equals(name)) {
+                    last.put("count", last.optInt("count", 1) + 1);
+                    return;
+                }
+            }
+            journey.put(event);
+        }
+
+        synchronized void drain() {
+            journey = new JSONArray();
+        }
+    }
+
+    @Override
+    public void run() throws Exception {
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors());
+        for (int warmup = 0; warmup < 3; warmup++) {
+            LockedArray locked = new LockedArray();
+            JourneyBuffer buffer = new JourneyBuffer();
+            run(2, locked::add, locked::drain);
+            run(2, (name) -> buffer.add(event(name)), buffer::drain);
+        }
+        for (int threads = 1; threads <= 8; threads <<= 1) {
+            LockedArray locked = new LockedArray();
+            JourneyBuffer buffer = new JourneyBuffer();
+            measure("locked JSONArray", threads, locked::add, locked::drain);
+            measure("JourneyBuffer", threads, (name) -> buffer.add(event(name)), buffer::drain);
+        }
+        for (int size = 1000; size <= 100000; size *= 10) outage(size);
+    }
+
+    // Every commit fails while a few more events arrive in between.
+    private void outage(int size) {
+        JourneyBuffer buffer = new JourneyBuffer(JourneyLimits.unbounded());
+        for (int i = 0; i < size; i++) buffer.add(event("e" + i));
+        final int failures = 2000;
+        long begin = System.nanoTime();
+        for (int i = 0; i < failures; i++) {
+            JSONArray batch = buffer.drain();
+            buffer.add(event("f" + i));
+            buffer.restore(batch);
+        }
+        System.out.printf("failed commit, %,7d events: %s%n", size, Benchmarks.perOp(System.nanoTime() - begin, failures));
+    }
+
+    private static Milestone event(String name) {
+        return new Milestone("Feature", "Attempted").name(name);
+    }
+
+    private void measure(String name, int threads, Appender appender, Runnable drain) throws Exception {
+        long elapsed = run(threads, appender, drain);
+        System.out.printf("%-17s %d threads: %,.0f adds/s%n", name, threads,
+                threads * (double) perThread / (elapsed / 1e9));
+    }
+
+    private long run(int threads, Appender appender, Runnable drain) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        appender.add("e" + ((thread + i / 4) & 7));
+                        if ((i & 4095) == 0 && thread == 0) drain.run();
+                    }
+                } catch (Exception err) {
+                    throw new RuntimeException(err);
+                }
+            }));
+        }
+        for (Thread worker : workers) worker.start();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * JsonBodyBench.java
+ *
+ * Writing a 10k event journey request: toString plus RequestBody.create against the streaming JsonBody,
+ * and what gzip adds on top of it.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.Compression;
+import xenon.view.sdk.api.fetch.JsonBody;
+import xenon.view.sdk.api.fetch.TransportMetrics;
+import xenon.view.sdk.journey.JourneyBuffer;
+import xenon.view.sdk.journey.JourneyLimits;
+import xenon.view.sdk.journey.Milestone;
+import xenon.view.sdk.journey.Outcome;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+public class JsonBodyBench implements Benchmarks.Benchmark {
+    private static final int events = 10000;
+    private static final int requests = 200;
+
+    interface Body {
+        RequestBody make(JSONObject body) throws IOException;
+    }
+
+    @Override
+    public void run() throws Exception {
+        JSONObject body = request(journey());
+        Body previous = (json) -> RequestBody.create(json.toString(), MediaType.parse("application/json"));
+        Body streaming = JsonBody::new;
+        TransportMetrics metrics = new TransportMetrics();
+        Compression compression = Compression.gzip(1024).metrics(metrics);
+        Body gzip = (json) -> {
+            Request.Builder request = new Request.Builder().url("http://127.0.0.1/journey");
+            compression.post(request, json);
+            return request.build().body();
+        };
+        System.out.printf("payload: %,d bytes, gzipped %,d bytes%n", size(streaming.make(body)), size(gzip.make(body)));
+        for (int round = 0; round < 3; round++) {
+            measure("toString + create", previous, body);
+            measure("JsonBody", streaming, body);
+            measure("JsonBody gzip", gzip, body);
+        }
+        System.out.printf("gzip ratio %.3f, %s compressing%n", metrics.compressionRatio(),
+                Benchmarks.perOp(metrics.compressionNanos(), metrics.compressedBodies()));
+    }
+
+    static JSONArray journey() {
+        JourneyBuffer buffer = new JourneyBuffer(JourneyLimits.unbounded());
+        final double now = System.currentTimeMillis() / 1000.0;
+        for (int i = 0; i < events; i++) {
+            if (i % 4 == 3) {
+                buffer.add(new Outcome("Lead Capture", "Phone Number", "success").at(now + i));
+            } else {
+                buffer.add(new Milestone("Feature", "Attempted").name("Scale Recipe " + i).at(now + i));
+            }
+        }
+        return buffer.drain();
+    }
+
+    // The shape ApiBase and JourneyApi wrap around a journey.
+    static JSONObject request(JSONArray journey) {
+        return new JSONObject()
+                .put("name", "ApiJourney")
+                .put("parameters", new JSONObject()
+                        .put("uuid", "7f1a2c3e-0000-4000-8000-000000000000")
+                        .put("timestamp", System.currentTimeMillis() / 1000.0)
+                        .put("journey", journey));
+    }
+
+    private void measure(String name, Body make, JSONObject body) throws Exception {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) size(make.make(body));
+        long elapsed = System.nanoTime() - begin;
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        System.out.printf("%-17s %s, %,d bytes allocated/request%n", name,
+                Benchmarks.perOp(elapsed, requests), allocated / requests);
+    }
+
+    // Written the way okhttp does: through a buffered sink onto the connection.
+    static long size(RequestBody body) throws Exception {
+        final long[] written = {0};
+        try (BufferedSink sink = Okio.buffer(new ForwardingSink(Okio.blackhole()) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                written[0] += byteCount;
+                super.write(source, byteCount);
+            }
+        })) {
+            body.writeTo(sink);
+        }
+        return written[0];
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * LocalCollector.java
+ *
+ * Loopback stand-in for the Xenon View collector used by the benchmarks.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LocalCollector implements AutoCloseable {
+    private final HttpServer server;
+    private final String scheme;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    final AtomicLong requests = new AtomicLong();
+    final AtomicLong bytesReceived = new AtomicLong();
+    // Sent back as Accept-Post so fetchers can negotiate a codec; null for none.
+    volatile String acceptPost;
+
+    static {
+        // without it the headers/body split meets delayed ACKs on kept-alive connections
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public LocalCollector() throws IOException {
+        this(null);
+    }
+
+    // Served over TLS with the given context; plain HTTP for null.
+    public LocalCollector(SSLContext tls) throws IOException {
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+        if (tls == null) {
+            server = HttpServer.create(address, 0);
+            scheme = "http";
+        } else {
+            HttpsServer https = HttpsServer.create(address, 0);
+            https.setHttpsConfigurator(new HttpsConfigurator(tls));
+            server = https;
+            scheme = "https";
+        }
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            long read = 0;
+            byte[] chunk = new byte[8192];
+            try (InputStream in = exchange.getRequestBody()) {
+                for (int n; (n = in.read(chunk)) > 0; ) read += n;
+            }
+            requests.incrementAndGet();
+            bytesReceived.addAndGet(read);
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("content-type", "application/json");
+            if (acceptPost != null) exchange.getResponseHeaders().add("accept-post", acceptPost);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    public String url() {
+        return scheme + "://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
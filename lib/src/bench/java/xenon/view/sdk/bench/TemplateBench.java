@@ -0,0 +1,94 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TemplateBench.java
+ *
+ * Draining and writing a 10k event journey of stock events, built from literals against stock templates.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import org.json.JSONArray;
+import xenon.view.sdk.api.fetch.JsonBody;
+import xenon.view.sdk.journey.JourneyBuffer;
+import xenon.view.sdk.journey.JourneyLimits;
+import xenon.view.sdk.journey.Milestone;
+import xenon.view.sdk.journey.Outcome;
+import xenon.view.sdk.journey.Template;
+
+import java.lang.management.ManagementFactory;
+
+public class TemplateBench implements Benchmarks.Benchmark {
+    private static final int events = 10000;
+    private static final int rounds = 100;
+
+    private static final Template renewed = Template.outcome("Subscription Renewal", "success");
+    private static final Template attempted = Template.milestone("Feature", "Attempted");
+    private static final Template viewed = Template.milestone("Content", "Viewed");
+
+    interface Journey {
+        JourneyBuffer make();
+    }
+
+    @Override
+    public void run() throws Exception {
+        Journey literals = () -> journey(false);
+        Journey templates = () -> journey(true);
+        long literal = 0;
+        long stock = 0;
+        for (int round = 0; round < 3; round++) {
+            literal = measure("literals", literals);
+            stock = measure("templates", templates);
+        }
+        // Drained stock events are written from the typed event, so they must not cost more than literals.
+        if (stock > literal) {
+            throw new IllegalStateException(String.format("templates allocate %,d bytes/request, literals %,d",
+                    stock, literal));
+        }
+    }
+
+    private static JourneyBuffer journey(boolean stock) {
+        JourneyBuffer buffer = new JourneyBuffer(JourneyLimits.unbounded());
+        final double now = 1700000000.0;
+        for (int i = 0; i < events; i++) {
+            switch (i % 3) {
+                case 0:
+                    buffer.add((stock ? new Milestone(attempted) : new Milestone("Feature", "Attempted"))
+                            .name("Scale Recipe " + (i & 7)).at(now + i));
+                    break;
+                case 1:
+                    buffer.add((stock ? new Milestone(viewed) : new Milestone("Content", "Viewed"))
+                            .type("Blog").identifier("post-" + i).at(now + i));
+                    break;
+                default:
+                    buffer.add((stock ? new Outcome(renewed, "Renew - Gold") :
+                            new Outcome("Subscription Renewal", "Renew - Gold", "success"))
+                            .method("card").at(now + i));
+            }
+        }
+        return buffer;
+    }
+
+    // Only the drain and the write are timed; buffering the events is not.
+    // Bytes allocated per request.
+    private long measure(String name, Journey make) throws Exception {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        long elapsed = 0;
+        long allocated = 0;
+        long written = 0;
+        for (int i = 0; i < rounds; i++) {
+            JourneyBuffer buffer = make.make();
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            long begin = System.nanoTime();
+            JSONArray journey = buffer.drain();
+            written = JsonBodyBench.size(new JsonBody(JsonBodyBench.request(journey)));
+            elapsed += System.nanoTime() - begin;
+            allocated += threads.getThreadAllocatedBytes(thread) - bytes;
+        }
+        System.out.printf("%-10s %s, %,d bytes allocated/request, %,d bytes written%n", name,
+                Benchmarks.perOp(elapsed, rounds), allocated / rounds, written);
+        return allocated / rounds;
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TlsBench.java
+ *
+ * Requests to a self signed collector: a trust-all SSLContext and client built per request versus the cached one,
+ * and the cached one with its connections evicted after every request.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.JsonFetcher;
+import xenon.view.sdk.api.fetch.Transport;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TlsBench implements Benchmarks.Benchmark {
+    private static final int requests = 300;
+    private static final char[] password = "changeit".toCharArray();
+
+    static class HandshakeCounter extends EventListener {
+        final AtomicLong connects = new AtomicLong();
+        final AtomicLong handshakes = new AtomicLong();
+
+        @Override
+        public void connectStart(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy) {
+            connects.incrementAndGet();
+        }
+
+        @Override
+        public void secureConnectEnd(@NotNull Call call, Handshake handshake) {
+            handshakes.incrementAndGet();
+        }
+    }
+
+    interface Send {
+        void send() throws Exception;
+    }
+
+    @Override
+    public void run() throws Exception {
+        try (LocalCollector collector = new LocalCollector(selfSigned())) {
+            final JSONObject params = new JSONObject()
+                    .put("url", collector.url() + "/heartbeat")
+                    .put("method", "POST")
+                    .put("ignore-certificate-errors", true)
+                    .put("body", new JSONObject().put("name", "ApiHeartbeat"));
+            for (int round = 0; round < 2; round++) {
+                HandshakeCounter perRequest = start();
+                measure("context per request", perRequest, () -> perRequest(collector.url() + "/heartbeat"));
+
+                HandshakeCounter cached = start();
+                JsonFetcher fetcher = new JsonFetcher();
+                measure("cached", cached, () -> fetcher.fetch(params).get());
+
+                HandshakeCounter resumed = start();
+                JsonFetcher unpooled = new JsonFetcher();
+                measure("cached, no pooling", resumed, () -> {
+                    Transport.client().connectionPool().evictAll();
+                    unpooled.fetch(params).get();
+                });
+            }
+            Transport.close();
+        }
+    }
+
+    private static HandshakeCounter start() {
+        HandshakeCounter counter = new HandshakeCounter();
+        Transport.close();
+        Transport.start(new OkHttpClient.Builder().eventListener(counter));
+        return counter;
+    }
+
+    // What JsonFetcher did before: a fresh trust-all context and client for each request.
+    private static void perRequest(String url) throws Exception {
+        X509TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[]{};
+            }
+        };
+        SSLContext context = SSLContext.getInstance("SSL");
+        context.init(null, new TrustManager[]{trustAll}, new SecureRandom());
+        OkHttpClient client = Transport.client().newBuilder()
+                .sslSocketFactory(context.getSocketFactory(), trustAll)
+                .hostnameVerifier((hostname, session) -> true)
+                .build();
+        Request request = new Request.Builder().url(url)
+                .post(RequestBody.create("{\"name\":\"ApiHeartbeat\"}", MediaType.parse("application/json")))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            response.body().bytes();
+        }
+    }
+
+    private void measure(String name, HandshakeCounter counter, Send send) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) send.send();
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %s, %d connections, %d TLS handshakes for %d requests%n",
+                name, Benchmarks.perOp(elapsed, requests), counter.connects.get(), counter.handshakes.get(), requests);
+    }
+
+    // A throwaway self signed certificate for 127.0.0.1, made with the JDK's keytool.
+    private static SSLContext selfSigned() throws Exception {
+        File keystore = File.createTempFile("collector", ".p12");
+        keystore.delete();
+        keystore.deleteOnExit();
+        String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "collector",
+                "-keyalg", "RSA", "-keysize", "2048", "-validity", "1", "-dname", "CN=127.0.0.1",
+                "-storetype", "PKCS12", "-keystore", keystore.getPath(),
+                "-storepass", new String(password), "-keypass", new String(password))
+                .inheritIO().start();
+        if (process.waitFor() != 0) throw new IllegalStateException("keytool failed");
+        KeyStore keys = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(keystore)) {
+            keys.load(in, password);
+        }
+        KeyManagerFactory managers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        managers.init(keys, password);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(managers.getKeyManagers(), null, null);
+        return context;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TransportBench.java
+ *
+ * Connection and thread churn of a client per request versus the shared transport.
+ *
+ **/
+package xenon.view.sdk.bench;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.JsonFetcher;
+import xenon.view.sdk.api.fetch.Transport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransportBench implements Benchmarks.Benchmark {
+    private static final int requests = 500;
+
+    static class ConnectCounter extends EventListener {
+        final AtomicLong connects = new AtomicLong();
+
+        @Override
+        public void connectStart(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy) {
+            connects.incrementAndGet();
+        }
+    }
+
+    interface FetcherMaker {
+        Fetchable fetcher();
+    }
+
+    @Override
+    public void run() throws Exception {
+        try (LocalCollector collector = new LocalCollector()) {
+            // shared first: the abandoned per request clients hold idle server
+            // connections which would skew the second run
+            ConnectCounter shared = new ConnectCounter();
+            Transport.close();
+            Transport.start(new OkHttpClient.Builder().eventListener(shared));
+            measure("shared transport", collector, shared, JsonFetcher::new);
+            Transport.close();
+
+            ConnectCounter perRequest = new ConnectCounter();
+            measure("client per request", collector, perRequest,
+                    () -> new JsonFetcher(() -> new OkHttpClient.Builder().eventListener(perRequest).build()));
+        }
+    }
+
+    private void measure(String name, LocalCollector collector, ConnectCounter counter, FetcherMaker maker) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        JSONObject params = new JSONObject()
+                .put("url", collector.url() + "/journey")
+                .put("method", "POST")
+                .put("body", new JSONObject().put("name", "ApiJourney"));
+        long threadsBefore = threads.getTotalStartedThreadCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            maker.fetcher().fetch(params).get();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %s, %d connections, %d threads started for %d requests%n",
+                name, Benchmarks.perOp(elapsed, requests), counter.connects.get(),
+                threads.getTotalStartedThreadCount() - threadsBefore, requests);
+    }
+}
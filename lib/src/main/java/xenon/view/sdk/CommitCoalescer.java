@@ -0,0 +1,114 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CommitCoalescer.java
+ * <p>
+ * At most one commit request per session in flight, and one queued that every later commit joins.
+ **/
+package xenon.view.sdk;
+
+import xenon.view.sdk.api.fetch.Json;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Commits that arrive while a request is out do not send their own, mostly
+ * near empty, journey. They all get the same pending future, and once the
+ * request in flight completes, one request is sent for them; it drains the
+ * journey then, so it carries everything buffered meanwhile. Its response is
+ * discarded only if every commit that joined asked for that.
+ */
+class CommitCoalescer {
+    interface Send {
+        CompletableFuture<Json> send(boolean discard) throws Throwable;
+    }
+
+    private boolean inFlight;
+    private CompletableFuture<Json> queued;
+    private Send queuedSend;
+    private boolean queuedDiscard;
+    private final AtomicLong coalesced = new AtomicLong();
+
+    // Decides under the lock; the request itself is built and sent after it is released.
+    CompletableFuture<Json> commit(boolean discard, Send send) throws Throwable {
+        synchronized (this) {
+            if (inFlight) {
+                if (queued == null) {
+                    queued = new CompletableFuture<>();
+                    queuedDiscard = discard;
+                } else {
+                    queuedDiscard &= discard;
+                }
+                queuedSend = send;
+                coalesced.incrementAndGet();
+                return queued;
+            }
+            inFlight = true;
+        }
+        return start(send, discard);
+    }
+
+    // Commits that joined a queued request instead of sending their own.
+    long coalesced() {
+        return coalesced.get();
+    }
+
+    synchronized boolean inFlight() {
+        return inFlight;
+    }
+
+    // Takes the in flight slot for a request sent elsewhere, like a batch;
+    // false when a request is out already.
+    synchronized boolean claim() {
+        if (inFlight) return false;
+        inFlight = true;
+        return true;
+    }
+
+    // Gives a claimed slot back, sending what was queued meanwhile.
+    void release() {
+        finished();
+    }
+
+    private CompletableFuture<Json> start(Send send, boolean discard) throws Throwable {
+        final CompletableFuture<Json> sent;
+        try {
+            sent = send.send(discard);
+        } catch (Throwable err) {
+            finished();
+            throw err;
+        }
+        sent.whenComplete((json, err) -> finished());
+        return sent;
+    }
+
+    // The queued request, if any, takes over the in flight slot.
+    private void finished() {
+        final CompletableFuture<Json> waiting;
+        final Send send;
+        final boolean discard;
+        synchronized (this) {
+            if (queued == null) {
+                inFlight = false;
+                return;
+            }
+            waiting = queued;
+            send = queuedSend;
+            discard = queuedDiscard;
+            queued = null;
+            queuedSend = null;
+        }
+        try {
+            start(send, discard).whenComplete((json, err) -> {
+                if (err != null) {
+                    waiting.completeExceptionally(err);
+                } else {
+                    waiting.complete(json);
+                }
+            });
+        } catch (Throwable err) {
+            waiting.completeExceptionally(err);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * FlushScheduler.java
+ * <p>
+ * Commits registered journeys on size, age or idle triggers from one shared timer thread.
+ **/
+package xenon.view.sdk;
+
+import xenon.view.sdk.api.fetch.InFlightLimit;
+import xenon.view.sdk.journey.JourneyBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A hashed timer wheel with a fixed period: every client sits in a random
+ * slot and the timer visits one slot per tick, so each client is checked once
+ * per checkMillis and the checks for thousands of sessions are spread evenly
+ * over that period. Age and idle thresholds get a random jitter on top, drawn
+ * again after every flush, so sessions that started together drift apart.
+ *
+ * Ages are measured from the first check that saw the journey non-empty, so
+ * they are accurate to checkMillis.
+ */
+public class FlushScheduler {
+    private static final long tickMillis = 50;
+    private static ScheduledExecutorService timer;
+
+    private static class Entry {
+        final Xenon client;
+        final int slot;
+        long lastAdds = -1;
+        long lastChange;
+        long firstSeen = 0;
+        long jitter;
+
+        Entry(Xenon _client, int _slot, long now, long _jitter) {
+            client = _client;
+            slot = _slot;
+            lastChange = now;
+            jitter = _jitter;
+        }
+    }
+
+    private final int maxEvents;
+    private final long maxAgeMillis;
+    private final long idleMillis;
+    private final long jitterMillis;
+    private final XenonSessionRegistry.Clock clock;
+    private final Random random;
+    private final List<List<Entry>> wheel = new ArrayList<>();
+    private final ConcurrentHashMap<Xenon, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong flushes = new AtomicLong();
+    private int cursor = 0;
+    private ScheduledFuture<?> ticking;
+
+    // Zero (or less) turns a trigger off.
+    public FlushScheduler(int maxEvents, long maxAgeMillis, long idleMillis) {
+        this(maxEvents, maxAgeMillis, idleMillis, 1000, 5000, System::currentTimeMillis, new Random());
+    }
+
+    public FlushScheduler(int _maxEvents, long _maxAgeMillis, long _idleMillis, long checkMillis, long _jitterMillis,
+                          XenonSessionRegistry.Clock _clock, Random _random) {
+        maxEvents = _maxEvents > 0 ? _maxEvents : Integer.MAX_VALUE;
+        maxAgeMillis = _maxAgeMillis > 0 ? _maxAgeMillis : Long.MAX_VALUE / 2;
+        idleMillis = _idleMillis > 0 ? _idleMillis : Long.MAX_VALUE / 2;
+        jitterMillis = _jitterMillis;
+        clock = _clock;
+        random = _random;
+        long slots = Math.max(1, checkMillis / tickMillis);
+        for (int i = 0; i < slots; i++) wheel.add(new ArrayList<>());
+    }
+
+    public void register(Xenon client) {
+        Entry entry = new Entry(client, nextInt(wheel.size()), clock.millis(), nextJitter());
+        if (entries.putIfAbsent(client, entry) != null) return;
+        List<Entry> slot = wheel.get(entry.slot);
+        synchronized (slot) {
+            slot.add(entry);
+        }
+    }
+
+    public void unregister(Xenon client) {
+        Entry entry = entries.remove(client);
+        if (entry == null) return;
+        List<Entry> slot = wheel.get(entry.slot);
+        synchronized (slot) {
+            slot.remove(entry);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long flushes() {
+        return flushes.get();
+    }
+
+    // Runs the wheel on the timer thread shared by every scheduler.
+    public synchronized void start() {
+        if (ticking != null) return;
+        ticking = timer().scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void close() {
+        if (ticking == null) return;
+        ticking.cancel(false);
+        ticking = null;
+    }
+
+    // Visits the next slot of the wheel.
+    public void tick() {
+        List<Entry> due;
+        synchronized (this) {
+            cursor = (cursor + 1) % wheel.size();
+            due = wheel.get(cursor);
+        }
+        List<Entry> checking;
+        synchronized (due) {
+            checking = new ArrayList<>(due);
+        }
+        final long now = clock.millis();
+        for (Entry entry : checking) check(entry, now);
+    }
+
+    // Visits every slot once, i.e. one full check period.
+    public void turn() {
+        for (int i = 0; i < wheel.size(); i++) tick();
+    }
+
+    private void check(Entry entry, long now) {
+        final JourneyBuffer journey = entry.client.session().journey;
+        final long adds = journey.adds();
+        if (adds != entry.lastAdds) {
+            entry.lastAdds = adds;
+            entry.lastChange = now;
+        }
+        if (journey.isEmpty()) {
+            entry.firstSeen = 0;
+            return;
+        }
+        if (entry.firstSeen == 0) entry.firstSeen = now;
+        final boolean due = journey.events() >= maxEvents ||
+                now - entry.firstSeen >= maxAgeMillis + entry.jitter ||
+                now - entry.lastChange >= idleMillis + entry.jitter;
+        if (!due) return;
+        entry.firstSeen = 0;
+        entry.jitter = nextJitter();
+        flushes.incrementAndGet();
+        try {
+            entry.client.flush();
+        } catch (Throwable ignore) {
+            // not configured yet; checked again next period
+        }
+    }
+
+    private synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private synchronized long nextJitter() {
+        return jitterMillis <= 0 ? 0 : (long) (random.nextDouble() * jitterMillis);
+    }
+
+    private static synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(() -> {
+                    InFlightLimit.neverBlock(true);
+                    runnable.run();
+                }, "xenon-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Stock.java
+ * <p>
+ * Templates of the stock outcomes and milestones, built once.
+ **/
+package xenon.view.sdk;
+
+import xenon.view.sdk.journey.Template;
+
+final class Stock {
+    private Stock() {
+    }
+
+// Business Outcomes:
+
+    static final Template leadCapture = Template.outcome("Lead Capture", "success");
+    static final Template leadCaptureFailed = Template.outcome("Lead Capture", "fail");
+    static final Template accountSignup = Template.outcome("Account Signup", "success");
+    static final Template accountSignupFailed = Template.outcome("Account Signup", "fail");
+    static final Template applicationInstallation = Template.outcome("Application Installation", "success");
+    static final Template applicationInstallationFailed = Template.outcome("Application Installation", "fail");
+    static final Template initialSubscription = Template.outcome("Initial Subscription", "success");
+    static final Template initialSubscriptionFailed = Template.outcome("Initial Subscription", "fail");
+    static final Template subscriptionRenewal = Template.outcome("Subscription Renewal", "success");
+    static final Template subscriptionRenewalFailed = Template.outcome("Subscription Renewal", "fail");
+    static final Template subscriptionUpsold = Template.outcome("Subscription Upsold", "success");
+    static final Template subscriptionUpsoldFailed = Template.outcome("Subscription Upsold", "fail");
+    static final Template referral = Template.outcome("Referral", "success");
+    static final Template referralFailed = Template.outcome("Referral", "fail");
+    static final Template addProductToCart = Template.outcome("Add Product To Cart", "success");
+    static final Template addProductToCartFailed = Template.outcome("Add Product To Cart", "fail");
+    static final Template upsoldProduct = Template.outcome("Upsold Product", "success");
+    static final Template upsoldProductFailed = Template.outcome("Upsold Product", "fail");
+    static final Template customerCheckout = Template.outcome("Customer Checkout", "success");
+    static final Template customerCheckoutFailed = Template.outcome("Customer Checkout", "fail");
+    static final Template customerPurchase = Template.outcome("Customer Purchase", "success");
+    static final Template customerPurchaseFailed = Template.outcome("Customer Purchase", "fail");
+    static final Template promiseFulfillment = Template.outcome("Promise Fulfillment", "success");
+    static final Template promiseFulfillmentFailed = Template.outcome("Promise Fulfillment", "fail");
+    static final Template productDisposition = Template.outcome("Product Disposition", "success");
+    static final Template productDispositionFailed = Template.outcome("Product Disposition", "fail");
+
+// Milestones:
+
+    static final Template featureAttempted = Template.milestone("Feature", "Attempted");
+    static final Template featureCompleted = Template.milestone("Feature", "Completed");
+    static final Template featureFailed = Template.milestone("Feature", "Failed");
+    static final Template contentViewed = Template.milestone("Content", "Viewed");
+    static final Template contentEdited = Template.milestone("Content", "Edited");
+    static final Template contentCreated = Template.milestone("Content", "Created");
+    static final Template contentDeleted = Template.milestone("Content", "Deleted");
+    static final Template contentArchived = Template.milestone("Content", "Archived");
+    static final Template contentRequested = Template.milestone("Content", "Requested");
+    static final Template contentSearched = Template.milestone("Content", "Searched");
+}
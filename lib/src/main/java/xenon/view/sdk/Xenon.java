@@ -11,11 +11,17 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.CachedApi;
 import xenon.view.sdk.api.DeanonymizeApi;
 import xenon.view.sdk.api.HeartbeatApi;
 import xenon.view.sdk.api.JourneyApi;
 import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.InFlightLimit;
 import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.journey.Fingerprint;
+import xenon.view.sdk.journey.Event;
+import xenon.view.sdk.journey.Milestone;
+import xenon.view.sdk.journey.Outcome;
 
 import java.util.HashSet;
 import java.util.Iterator;
@@ -25,84 +31,95 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
 public class Xenon {
-    static volatile private String _id = UUID.randomUUID().toString();
-    static volatile private JSONArray _journey = new JSONArray();
-    static volatile private String apiUrl = "https://app.xenonview.com";
-    static volatile private String apiKey = "";
-    static volatile private boolean allowSelfSigned = false;
-    static volatile private JSONObject platform = new JSONObject();
-    static volatile private JSONArray variants = new JSONArray();
-    private Api<Fetchable> journeyApi;
-    private Api<Fetchable> heartbeatApi;
-    private Api<Fetchable> deanonApi;
-    private JSONArray restoreJourney;
+    private final XenonSession session;
+    private CachedApi<Fetchable> journeyApi;
+    private CachedApi<Fetchable> heartbeatApi;
+    private CachedApi<Fetchable> deanonApi;
+    private JSONArray restoreJourney = new JSONArray();
 
     public Xenon() {
+        this(XenonSession.global());
+    }
+
+    public Xenon(XenonSession _session) {
+        session = _session;
         journeyApi = realApi(JourneyApi::new);
         deanonApi = realApi(DeanonymizeApi::new);
         heartbeatApi = realApi(HeartbeatApi::new);
+        session.journey.flushWith(this::overflowed);
+    }
+
+    public Xenon(XenonSession _session, String _apiKey, String _apiUrl) {
+        this(_session);
+        session.apiKey = _apiKey;
+        session.apiUrl = _apiUrl;
+    }
+
+    public Xenon(XenonSession _session, String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi) {
+        this(_session, _apiKey, _apiUrl);
+        journeyApi = realApi(_journeyApi);
     }
 
     public Xenon(String _apiKey) {
         this();
-        Xenon.apiKey = _apiKey;
-        Xenon.apiUrl = "https://app.xenonview.com";
+        session.apiKey = _apiKey;
+        session.apiUrl = "https://app.xenonview.com";
     }
 
     public Xenon(String _apiKey, Api<Fetchable> _journeyApi) {
         this();
-        Xenon.apiKey = _apiKey;
-        journeyApi = _journeyApi;
+        session.apiKey = _apiKey;
+        journeyApi = realApi(_journeyApi);
     }
 
     public Xenon(String _apiKey, boolean _allowSelfSigned) {
         this(_apiKey);
-        allowSelfSigned = _allowSelfSigned;
+        session.allowSelfSigned = _allowSelfSigned;
     }
 
     public Xenon(String _apiKey, String _apiUrl) {
         this(_apiKey);
-        apiUrl = _apiUrl;
+        session.apiUrl = _apiUrl;
     }
 
     public Xenon(String _apiKey, String _apiUrl, boolean _allowSelfSigned) {
         this(_apiKey, _apiUrl);
-        allowSelfSigned = _allowSelfSigned;
+        session.allowSelfSigned = _allowSelfSigned;
     }
 
     public Xenon(String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi) {
         this(_apiKey, _apiUrl);
-        journeyApi = _journeyApi;
+        journeyApi = realApi(_journeyApi);
     }
 
     public Xenon(Api<Fetchable> _journeyApi) {
         this();
-        journeyApi = _journeyApi;
+        journeyApi = realApi(_journeyApi);
     }
 
     public Xenon(String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi, boolean _allowSelfSigned) {
         this(_apiKey, _apiUrl, _allowSelfSigned);
-        journeyApi = _journeyApi;
+        journeyApi = realApi(_journeyApi);
     }
 
     public Xenon(String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi, Api<Fetchable> _deanonApi, boolean _allowSelfSigned) {
         this(_apiKey, _apiUrl, _journeyApi, _allowSelfSigned);
-        deanonApi = _deanonApi;
+        deanonApi = realApi(_deanonApi);
     }
 
     public Xenon(String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi, Api<Fetchable> _deanonApi) {
         this(_apiKey, _apiUrl, _journeyApi);
-        deanonApi = _deanonApi;
+        deanonApi = realApi(_deanonApi);
     }
 
     public Xenon(String _apiKey, String _apiUrl, Api<Fetchable> _journeyApi, Api<Fetchable> _deanonApi, Api<Fetchable> _heartbeatApi) {
         this(_apiKey, _apiUrl, _journeyApi, _deanonApi);
-        heartbeatApi = _heartbeatApi;
+        heartbeatApi = realApi(_heartbeatApi);
     }
 
     public void init(String apiKey, String apiUrl) {
-        if (apiUrl.length() > 0) Xenon.apiUrl = apiUrl;
-        if (apiKey.length() > 0) Xenon.apiKey = apiKey;
+        if (apiUrl.length() > 0) session.apiUrl = apiUrl;
+        if (apiKey.length() > 0) session.apiKey = apiKey;
     }
 
     public void init(String apiKey) {
@@ -111,7 +128,7 @@ public class Xenon {
 
     public void platform(String softwareVersion, String deviceModel, String operatingSystemName,
                          String operatingSystemVersion) throws JSONException {
-        Xenon.platform = new JSONObject() {{
+        session.platform = new JSONObject() {{
             put("softwareVersion", softwareVersion);
             put("deviceModel", deviceModel);
             put("operatingSystemName", operatingSystemName);
@@ -120,7 +137,7 @@ public class Xenon {
     }
 
     public void removePlatform() {
-        Xenon.platform = new JSONObject();
+        session.platform = new JSONObject();
     }
 
     public void variant(String[] names) throws JSONException {
@@ -128,689 +145,433 @@ public class Xenon {
     }
 
     public void variant(JSONArray names) throws JSONException {
-        Xenon.variants = names;
+        session.variants = names;
     }
 
     public void resetVariants() {
-        Xenon.variants = new JSONArray();
+        session.variants = new JSONArray();
     }
 
 // Stock Business Outcomes:
 
     public void leadCaptured(String specifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Lead Capture");
-        content.put("outcome", specifier);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.leadCapture, specifier));
     }
 
     public void leadCaptureDeclined(String specifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Lead Capture");
-        content.put("outcome", specifier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.leadCaptureFailed, specifier));
     }
 
     public void accountSignup(String specifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Account Signup");
-        content.put("outcome", specifier);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.accountSignup, specifier));
     }
 
     public void accountSignupDeclined(String specifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Account Signup");
-        content.put("outcome", specifier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.accountSignupFailed, specifier));
     }
 
     public void applicationInstalled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Application Installation");
-        content.put("outcome", "Installed");
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.applicationInstallation, "Installed"));
     }
 
     public void applicationNotInstalled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Application Installation");
-        content.put("outcome", "Not Installed");
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.applicationInstallationFailed, "Not Installed"));
     }
 
     public void initialSubscription(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Subscribe - " + tier);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscription, "Subscribe - " + tier));
     }
 
     public void initialSubscription(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Subscribe - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscription, "Subscribe - " + tier)
+                .method(method));
     }
 
     public void initialSubscription(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Subscribe - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscription, "Subscribe - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionDeclined(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Decline - " + tier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscriptionFailed, "Decline - " + tier));
     }
 
     public void subscriptionDeclined(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Decline - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscriptionFailed, "Decline - " + tier)
+                .method(method));
     }
 
     public void subscriptionDeclined(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Initial Subscription");
-        content.put("outcome", "Decline - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.initialSubscriptionFailed, "Decline - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionRenewed(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Renew - " + tier);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewal, "Renew - " + tier));
     }
 
     public void subscriptionRenewed(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Renew - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewal, "Renew - " + tier)
+                .method(method));
     }
 
     public void subscriptionRenewed(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Renew - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewal, "Renew - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionCanceled(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Cancel - " + tier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Cancel - " + tier));
     }
 
     public void subscriptionCanceled(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Cancel - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Cancel - " + tier)
+                .method(method));
     }
 
     public void subscriptionCanceled(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Cancel - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Cancel - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionPaused(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Paused - " + tier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Paused - " + tier));
     }
 
     public void subscriptionPaused(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Paused - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Paused - " + tier)
+                .method(method));
     }
 
     public void subscriptionPaused(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Renewal");
-        content.put("outcome", "Paused - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionRenewalFailed, "Paused - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionUpsold(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Upsold - " + tier);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsold, "Upsold - " + tier));
     }
 
     public void subscriptionUpsold(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Upsold - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsold, "Upsold - " + tier)
+                .method(method));
     }
 
     public void subscriptionUpsold(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Upsold - " + tier);
-        content.put("result", "success");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsold, "Upsold - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionUpsellDeclined(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Declined - " + tier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Declined - " + tier));
     }
 
     public void subscriptionUpsellDeclined(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Declined - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Declined - " + tier)
+                .method(method));
     }
 
     public void subscriptionUpsellDeclined(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Declined - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Declined - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void subscriptionDownsell(String tier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Downsell - " + tier);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Downsell - " + tier));
     }
 
     public void subscriptionDownsell(String tier, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Downsell - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Downsell - " + tier)
+                .method(method));
     }
 
     public void subscriptionDownsell(String tier, String term, String price, String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Subscription Upsold");
-        content.put("outcome", "Downsell - " + tier);
-        content.put("result", "fail");
-        content.put("method", method);
-        content.put("term", term);
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.subscriptionUpsoldFailed, "Downsell - " + tier)
+                .method(method)
+                .term(term)
+                .price(price));
     }
 
     public void referral(String kind) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Referral");
-        content.put("outcome", "Referred - " + kind);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.referral, "Referred - " + kind));
     }
 
     public void referral(String kind, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Referral");
-        content.put("outcome", "Referred - " + kind);
-        content.put("result", "success");
-        content.put("details", detail);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.referral, "Referred - " + kind)
+                .details(detail));
     }
 
     public void referralDeclined(String kind) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Referral");
-        content.put("outcome", "Declined - " + kind);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.referralFailed, "Declined - " + kind));
     }
 
     public void referralDeclined(String kind, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Referral");
-        content.put("outcome", "Declined - " + kind);
-        content.put("result", "fail");
-        content.put("details", detail);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.referralFailed, "Declined - " + kind)
+                .details(detail));
     }
 
     public void productAddedToCart(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Add Product To Cart");
-        content.put("outcome", "Add - " + product);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.addProductToCart, "Add - " + product));
     }
 
     public void productNotAddedToCart(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Add Product To Cart");
-        content.put("outcome", "Ignore - " + product);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.addProductToCartFailed, "Ignore - " + product));
     }
 
     public void upsold(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Upsold Product");
-        content.put("outcome", "Upsold - " + product);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.upsoldProduct, "Upsold - " + product));
     }
 
     public void upsold(String product, String price) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Upsold Product");
-        content.put("outcome", "Upsold - " + product);
-        content.put("result", "success");
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.upsoldProduct, "Upsold - " + product)
+                .price(price));
     }
 
     public void upsellDismissed(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Upsold Product");
-        content.put("outcome", "Dismissed - " + product);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.upsoldProductFailed, "Dismissed - " + product));
     }
 
     public void upsellDismissed(String product, String price) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Upsold Product");
-        content.put("outcome", "Dismissed - " + product);
-        content.put("result", "fail");
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.upsoldProductFailed, "Dismissed - " + product)
+                .price(price));
     }
 
     public void checkedOut() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Checkout");
-        content.put("outcome", "Checked Out");
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerCheckout, "Checked Out"));
     }
 
     public void checkoutCanceled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Checkout");
-        content.put("outcome", "Canceled");
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerCheckoutFailed, "Canceled"));
     }
 
     public void productRemoved(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Checkout");
-        content.put("outcome", "Product Removed - " + product);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerCheckoutFailed, "Product Removed - " + product));
     }
 
     public void purchased(String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Purchase");
-        content.put("outcome", "Purchase - " + method);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerPurchase, "Purchase - " + method));
     }
 
     public void purchased(String method, String price) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Purchase");
-        content.put("outcome", "Purchase - " + method);
-        content.put("result", "success");
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerPurchase, "Purchase - " + method)
+                .price(price));
     }
 
     public void purchaseCanceled(String method, String price) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Purchase");
-        content.put("outcome", "Canceled - " + method);
-        content.put("result", "fail");
-        content.put("price", price);
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerPurchaseFailed, "Canceled - " + method)
+                .price(price));
     }
 
     public void purchaseCanceled(String method) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Purchase");
-        content.put("outcome", "Canceled - " + method);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerPurchaseFailed, "Canceled - " + method));
     }
 
     public void purchaseCanceled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Customer Purchase");
-        content.put("outcome", "Canceled");
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.customerPurchaseFailed, "Canceled"));
     }
 
     public void promiseFulfilled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Promise Fulfillment");
-        content.put("outcome", "Fulfilled");
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.promiseFulfillment, "Fulfilled"));
     }
 
     public void promiseUnfulfilled() throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Promise Fulfillment");
-        content.put("outcome", "Unfulfilled");
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.promiseFulfillmentFailed, "Unfulfilled"));
     }
 
     public void productKept(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Product Disposition");
-        content.put("outcome", "Kept - " + product);
-        content.put("result", "success");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.productDisposition, "Kept - " + product));
     }
 
     public void productReturned(String product) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("superOutcome", "Product Disposition");
-        content.put("outcome", "Returned - " + product);
-        content.put("result", "fail");
-        outcomeAdd(content);
+        outcomeAdd(new Outcome(Stock.productDispositionFailed, "Returned - " + product));
     }
 
 // Stock Milestones:
 
     public void featureAttempted(String name, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Attempted");
-        content.put("name", name);
-        content.put("details", detail);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureAttempted)
+                .name(name)
+                .details(detail));
     }
 
     public void featureAttempted(String name) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Attempted");
-        content.put("name", name);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureAttempted).name(name));
     }
 
     public void featureCompleted(String name, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Completed");
-        content.put("name", name);
-        content.put("details", detail);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureCompleted)
+                .name(name)
+                .details(detail));
     }
 
     public void featureCompleted(String name) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Completed");
-        content.put("name", name);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureCompleted).name(name));
     }
 
     public void featureFailed(String name, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Failed");
-        content.put("name", name);
-        content.put("details", detail);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureFailed)
+                .name(name)
+                .details(detail));
     }
 
     public void featureFailed(String name) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Feature");
-        content.put("action", "Failed");
-        content.put("name", name);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.featureFailed).name(name));
     }
 
     public void contentViewed(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Viewed");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentViewed)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentViewed(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Viewed");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentViewed).type(contentType));
     }
 
     public void contentEdited(String contentType, String identifier, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Edited");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        content.put("details", detail);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentEdited)
+                .type(contentType)
+                .identifier(identifier)
+                .details(detail));
     }
 
     public void contentEdited(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Edited");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentEdited)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentEdited(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Edited");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentEdited).type(contentType));
     }
 
     public void contentCreated(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Created");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentCreated)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentCreated(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Created");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentCreated).type(contentType));
     }
 
     public void contentDeleted(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Deleted");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentDeleted)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentDeleted(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Deleted");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentDeleted).type(contentType));
     }
 
     public void contentArchived(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Archived");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentArchived)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentArchived(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Archived");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentArchived).type(contentType));
     }
 
     public void contentRequested(String contentType, String identifier) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Requested");
-        content.put("type", contentType);
-        content.put("identifier", identifier);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentRequested)
+                .type(contentType)
+                .identifier(identifier));
     }
 
     public void contentRequested(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Requested");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentRequested).type(contentType));
     }
 
     public void contentSearched(String contentType) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", "Content");
-        content.put("action", "Searched");
-        content.put("type", contentType);
-        journeyAdd(content);
+        journeyAdd(new Milestone(Stock.contentSearched).type(contentType));
     }
 
 // Custom Milestones
 
     public void milestone(String category, String operation, String name, String detail) throws JSONException {
-        JSONObject content = new JSONObject();
-        content.put("category", category);
-        content.put("action", operation);
-        content.put("name", name);
-        content.put("details", detail);
-        journeyAdd(content);
+        journeyAdd(Milestone.custom(category, operation)
+                .name(name)
+                .details(detail));
     }
 
 
 // API Communication:
 
     public CompletableFuture<Json> commit() throws JSONException, Throwable {
+        return commit(session.discardResponses);
+    }
+
+    // Nobody reads what the scheduler or an overflow flush gets back.
+    CompletableFuture<Json> flush() throws JSONException, Throwable {
+        return commit(true);
+    }
+
+    // While a commit is in flight, later ones join the next request rather than send their own.
+    private CompletableFuture<Json> commit(boolean discard) throws JSONException, Throwable {
+        if (session.apiKey.equals("")) throw new Throwable("API Key not set.");
+        return session.commits.commit(discard, this::send);
+    }
+
+    private CompletableFuture<Json> send(boolean discard) throws JSONException, Throwable {
+        if (InFlightLimit.configured().buffers()) return buffered();
+        final JSONArray journey = session.journey.drain();
         JSONObject params = (new JSONObject())
                 .put("id", id())
-                .put("journey", journey())
-                .put("token", apiKey)
+                .put("journey", journey)
+                .put("token", session.apiKey)
                 .put("timestamp", timestamp())
-                .put("ignore-certificate-errors", allowSelfSigned);
-        if (apiKey.equals("")) throw new Throwable("API Key not set.");
-        reset();
-        return journeyApi.instance(apiUrl).fetch(params)
+                .put("ignore-certificate-errors", session.allowSelfSigned);
+        if (discard) params.put("discard-response", true);
+        return journeyApi.instance(session.apiUrl).fetch(params)
                 .exceptionally(err -> {
-                    restore();
+                    session.failed(journey, err);
                     throw (new CompletionException(err));
+                })
+                .thenApply(json -> {
+                    session.journey.committed(journey);
+                    return json;
                 });
     }
 
     public CompletableFuture<Json> heartbeat() throws JSONException, Throwable {
+        if (session.apiKey.equals("")) throw new Throwable("API Key not set.");
+        if (InFlightLimit.configured().buffers()) return buffered();
+        final JSONArray journey = session.journey.drain();
         JSONObject params = (new JSONObject())
                 .put("id", id())
-                .put("journey", journey())
-                .put("token", apiKey)
+                .put("journey", journey)
+                .put("token", session.apiKey)
                 .put("timestamp", timestamp())
-                .put("ignore-certificate-errors", allowSelfSigned);
-        if (apiKey.equals("")) throw new Throwable("API Key not set.");
-        if (Xenon.platform.length() > 0) params.put("platform", Xenon.platform);
-        if (Xenon.variants.length() > 0) params.put("tags", Xenon.variants);
+                .put("ignore-certificate-errors", session.allowSelfSigned);
+        if (session.platform.length() > 0) params.put("platform", session.platform);
+        if (session.variants.length() > 0) params.put("tags", session.variants);
+        if (session.discardResponses) params.put("discard-response", true);
 
-        reset();
-
-        return heartbeatApi.instance(apiUrl).fetch(params)
+        return heartbeatApi.instance(session.apiUrl).fetch(params)
                 .exceptionally(err -> {
-                    restore();
+                    session.failed(journey, err);
                     throw (new CompletionException(err));
+                })
+                .thenApply(json -> {
+                    session.journey.committed(journey);
+                    return json;
                 });
     }
 
@@ -818,54 +579,47 @@ public class Xenon {
         JSONObject params = (new JSONObject())
                 .put("id", id())
                 .put("person", person)
-                .put("token", apiKey)
+                .put("token", session.apiKey)
                 .put("timestamp", timestamp())
-                .put("ignore-certificate-errors", allowSelfSigned);
-        if (apiKey.equals("")) throw new Throwable("API Key not set.");
-        return deanonApi.instance(apiUrl).fetch(params);
+                .put("ignore-certificate-errors", session.allowSelfSigned);
+        if (session.apiKey.equals("")) throw new Throwable("API Key not set.");
+        return deanonApi.instance(session.apiUrl).fetch(params);
     }
 
 // Internals:
 
     public String id() {
-        return Xenon._id;
+        return session.id;
 
     }
 
     public String id(String _id) {
-        Xenon._id = _id;
-        return Xenon._id;
+        session.id = _id;
+        return session.id;
     }
 
     public void newId() {
-        Xenon._id = UUID.randomUUID().toString();
+        session.id = UUID.randomUUID().toString();
     }
 
-    private void outcomeAdd(JSONObject content) throws JSONException {
-        if (Xenon.platform.length() > 0) content.put("platform", Xenon.platform);
-        if (Xenon.variants.length() > 0) content.put("tags", Xenon.variants);
-        journeyAdd(content);
+    private void outcomeAdd(Outcome outcome) {
+        if (session.platform.length() > 0) outcome.platform(session.platform);
+        if (session.variants.length() > 0) outcome.tags(session.variants);
+        journeyAdd(outcome);
     }
 
-    private void journeyAdd(JSONObject content) throws JSONException {
-        JSONArray journey = journey();
-        content.put("timestamp", timestamp());
-
-        if (journey.length() > 0) {
-            JSONObject last = journey.getJSONObject(journey.length() - 1);
+    private void journeyAdd(Event event) {
+        session.journey.add(event.at(timestamp()));
+    }
 
-            if (isDuplicate(last, content)) {
-                int count = last.has("count") ? last.getInt("count") : 1;
-                last.put("count", count + 1);
-            } else {
-                journey.put(content);
-            }
-        } else {
-            journey = (new JSONArray()).put(content);
-        }
-        storeJourney(journey);
+    protected boolean isDuplicate(JSONObject last, JSONObject content) throws JSONException{
+        if (Fingerprint.of(last) != Fingerprint.of(content)) return false;
+        return Fingerprint.confirms(last, content);
     }
 
+    // The key set comparisons isDuplicate() used before fingerprints. The buffer
+    // no longer asks them; they are kept only for subclasses that still do.
+    @Deprecated
     protected Set<String> toSet(Iterator<String> collection) {
         HashSet<String> set = new HashSet<String>();
         for (Iterator<String> it = collection; it.hasNext(); ) {
@@ -875,28 +629,13 @@ public class Xenon {
         return set;
     }
 
-    protected boolean isDuplicate(JSONObject last, JSONObject content) throws JSONException{
-        Iterator<String> lastIterator = last.keys();
-        Iterator<String> contentIterator = content.keys();
-
-        final Set<String> lastKeys = this.toSet(lastIterator);
-        final Set<String> contentKeys = this.toSet(contentIterator);
-
-        if (!lastKeys.containsAll(contentKeys)) return false;
-        if (!contentKeys.contains("category") || !lastKeys.contains("category")) return false;
-        if (!content.get("category").equals(last.get("category"))) return false;
-        if (!contentKeys.contains("action") || !lastKeys.contains("action")) return false;
-        if (!content.get("action").equals(last.get("action"))) return false;
-        return (duplicateFeature(last, content, lastKeys, contentKeys) ||
-                duplicateContent(last, content, lastKeys, contentKeys) ||
-                duplicateMilestone(last, content, lastKeys, contentKeys));
-    }
-
+    @Deprecated
     protected boolean duplicateFeature(JSONObject last, JSONObject content, Set<String> lastKeys, Set<String> contentKeys) throws JSONException {
         if (!content.get("category").equals("Feature") || !last.get("category").equals("Feature")) return false;
         return content.get("name").equals(last.get("name"));
     }
 
+    @Deprecated
     protected boolean duplicateContent(JSONObject last, JSONObject content, Set<String> lastKeys, Set<String> contentKeys) throws JSONException {
         if (!content.get("category").equals("Content") || !last.get("category").equals("Content")) return false;
         if (!contentKeys.contains("type") || !lastKeys.contains("type")) return true;
@@ -907,6 +646,7 @@ public class Xenon {
         return content.get("details").equals(last.get("details"));
     }
 
+    @Deprecated
     protected boolean duplicateMilestone(JSONObject last, JSONObject content, Set<String> lastKeys, Set<String> contentKeys) throws JSONException {
         if (content.get("category").equals("Feature") || last.get("category").equals("Feature")) return false;
         if (content.get("category").equals("Content") || last.get("category").equals("Content")) return false;
@@ -916,31 +656,22 @@ public class Xenon {
 
 
     public JSONArray journey() {
-        return Xenon._journey;
-    }
-
-    private void storeJourney(JSONArray journey) {
-        Xenon._journey = journey;
+        return session.journey.snapshot();
     }
 
+    // Only the latest reset can be restored; the journey set aside before it is gone.
     public void reset() {
-        this.restoreJourney = this.journey();
-        Xenon._journey = new JSONArray();
+        session.journey.discarded(this.restoreJourney);
+        this.restoreJourney = session.journey.drain();
     }
 
     public void restore() {
-        JSONArray currentJourney = this.journey();
-        JSONArray restoreJourney = this.restoreJourney;
-        if (currentJourney.length() > 0) {
-            JSONArray result = new JSONArray();
-            result = addJourneyTo(restoreJourney, result);
-            result = addJourneyTo(currentJourney, result);
-            restoreJourney = result;
-        }
-        storeJourney(restoreJourney);
+        session.journey.restore(this.restoreJourney);
         this.restoreJourney = new JSONArray();
     }
 
+    // Unused since the journey is held by the session's buffer.
+    @Deprecated
     protected JSONArray addJourneyTo(JSONArray result, JSONArray journey) {
         for (int i = 0; i < journey.length(); i++) {
             addJourneyIndexTo(result, journey, i);
@@ -948,6 +679,7 @@ public class Xenon {
         return result;
     }
 
+    @Deprecated
     protected void addJourneyIndexTo(JSONArray result, JSONArray journey, int i) {
         try {
             result.put(journey.get(i));
@@ -956,15 +688,40 @@ public class Xenon {
         }
     }
 
+    // Commit and heartbeat responses are drained unread; their futures complete with Json.discarded().
+    public void discardResponses(boolean discard) {
+        session.discardResponses = discard;
+    }
+
     public boolean selfSignedAllowed() {
-        return allowSelfSigned;
+        return session.allowSelfSigned;
+    }
+
+    public XenonSession session() {
+        return session;
+    }
+
+    // The transport is saturated: the journey stays in the buffer for the next commit.
+    private static CompletableFuture<Json> buffered() {
+        CompletableFuture<Json> saturated = new CompletableFuture<>();
+        saturated.completeExceptionally(new InFlightLimit.Saturated(InFlightLimit.configured().maxInFlight()));
+        return saturated;
+    }
+
+    // FORCE_FLUSH: commit early; failures are restored and trimmed by the buffer.
+    private void overflowed() {
+        try {
+            flush();
+        } catch (Throwable ignore) {
+            // the buffer drops the oldest until a flush goes through
+        }
     }
 
     private double timestamp() {
         return System.currentTimeMillis() / 1000.0;
     }
 
-    private Api<Fetchable> realApi(Api<Fetchable> api) {
-        return api;
+    private CachedApi<Fetchable> realApi(Api<Fetchable> api) {
+        return new CachedApi<>(api);
     }
 }
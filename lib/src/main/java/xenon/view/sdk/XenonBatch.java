@@ -0,0 +1,224 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonBatch.java
+ * <p>
+ * Commits the journeys of many sessions through the batch API, a bounded number of bytes per request.
+ **/
+package xenon.view.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.BatchApi;
+import xenon.view.sdk.api.CachedApi;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.Json;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+ * For server side tracking, where one process holds the journeys of many
+ * users. Sessions are packed in order into requests of at most maxBatchBytes
+ * of JSON, counted before the API's dictionary encoding can only shrink it;
+ * a session bigger than that goes on its own. A session
+ * whose own commit is in flight is left for the next batch, and commits made
+ * while its batch is out wait for it, as they would for any other commit.
+ * Each session is then settled by its own result: committed on a 2xx, dead
+ * lettered when refused for good, and restored otherwise, including when the
+ * collector left it out. A request that fails as a whole restores (or dead
+ * letters) every session in it, the same way Xenon.commit() does.
+ */
+public class XenonBatch {
+    public static final long defaultMaxBatchBytes = 512 * 1024;
+
+    // The status the collector answered for each session id of one request.
+    public static class Result {
+        private final Map<String, Integer> statuses;
+
+        Result(Map<String, Integer> _statuses) {
+            statuses = Collections.unmodifiableMap(_statuses);
+        }
+
+        public Map<String, Integer> statuses() {
+            return statuses;
+        }
+
+        public boolean committed(String id) {
+            Integer status = statuses.get(id);
+            return status != null && status >= 200 && status < 300;
+        }
+    }
+
+    private final String apiKey;
+    private final String apiUrl;
+    private final long maxBatchBytes;
+    private final CachedApi<Fetchable> batchApi;
+    private volatile boolean allowSelfSigned = false;
+
+    public XenonBatch(String _apiKey, String _apiUrl) {
+        this(_apiKey, _apiUrl, defaultMaxBatchBytes);
+    }
+
+    public XenonBatch(String _apiKey, String _apiUrl, long _maxBatchBytes) {
+        this(_apiKey, _apiUrl, _maxBatchBytes, BatchApi::new);
+    }
+
+    public XenonBatch(String _apiKey, String _apiUrl, long _maxBatchBytes, Api<Fetchable> _batchApi) {
+        apiKey = _apiKey;
+        apiUrl = _apiUrl;
+        maxBatchBytes = _maxBatchBytes;
+        batchApi = new CachedApi<>(_batchApi);
+    }
+
+    public XenonBatch allowSelfSigned(boolean _allowSelfSigned) {
+        allowSelfSigned = _allowSelfSigned;
+        return this;
+    }
+
+    public long maxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    // One future per request; empty sessions and sessions with a commit in flight are skipped.
+    public List<CompletableFuture<Result>> commit(Collection<XenonSession> sessions) throws Throwable {
+        if (apiKey.equals("")) throw new Throwable("API Key not set.");
+        List<CompletableFuture<Result>> commits = new ArrayList<>();
+        Batch batch = new Batch();
+        for (XenonSession session : sessions) {
+            if (!session.commits.claim()) continue;
+            final JSONArray journey = session.journey.drain();
+            if (journey.length() == 0) {
+                session.commits.release();
+                continue;
+            }
+            final JSONObject entry = new JSONObject()
+                    .put("id", session.id)
+                    .put("journey", journey);
+            final long bytes = encodedSize(entry);
+            if (!batch.isEmpty() && batch.bytes + bytes > maxBatchBytes) {
+                commits.add(send(batch));
+                batch = new Batch();
+            }
+            batch.add(session, entry, journey, bytes);
+        }
+        if (!batch.isEmpty()) commits.add(send(batch));
+        return commits;
+    }
+
+    private CompletableFuture<Result> send(Batch batch) {
+        JSONArray sessions = new JSONArray();
+        for (JSONObject entry : batch.entries) sessions.put(entry);
+        JSONObject params = new JSONObject()
+                .put("sessions", sessions)
+                .put("token", apiKey)
+                .put("timestamp", System.currentTimeMillis() / 1000.0)
+                .put("ignore-certificate-errors", allowSelfSigned);
+        CompletableFuture<Json> fetched;
+        try {
+            fetched = batchApi.instance(apiUrl).fetch(params);
+        } catch (Throwable err) {
+            fetched = new CompletableFuture<>();
+            fetched.completeExceptionally(err);
+        }
+        return fetched.handle((json, err) -> {
+            try {
+                if (err == null) {
+                    try {
+                        return settle(batch, json.to(JSONObject.class).optJSONObject("sessions"));
+                    } catch (Throwable unreadable) {
+                        err = unreadable;
+                    }
+                }
+                for (int i = 0; i < batch.sessions.size(); i++) {
+                    batch.sessions.get(i).failed(batch.journeys.get(i), err);
+                }
+                throw err instanceof CompletionException ? (CompletionException) err : new CompletionException(err);
+            } finally {
+                // settled first, so a commit queued meanwhile carries whatever was restored
+                for (XenonSession session : batch.sessions) session.commits.release();
+            }
+        });
+    }
+
+    // UTF-8 bytes of the entry as it goes into the request, counted without building the string.
+    private static long encodedSize(JSONObject entry) {
+        EncodedSize size = new EncodedSize();
+        entry.write(size);
+        return size.bytes;
+    }
+
+    private static class EncodedSize extends Writer {
+        long bytes = 0;
+
+        @Override
+        public void write(int c) {
+            bytes += c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate((char) c) ? 2 : 3;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) write(chars[i]);
+        }
+
+        @Override
+        public void write(String chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) write(chars.charAt(i));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static Result settle(Batch batch, JSONObject results) {
+        Map<String, Integer> statuses = new LinkedHashMap<>();
+        for (int i = 0; i < batch.sessions.size(); i++) {
+            final String id = batch.ids.get(i);
+            final JSONObject result = results == null ? null : results.optJSONObject(id);
+            final int status = result == null ? 0 : result.optInt("status", 0);
+            final XenonSession session = batch.sessions.get(i);
+            if (status >= 200 && status < 300) {
+                session.journey.committed(batch.journeys.get(i));
+            } else {
+                session.failed(batch.journeys.get(i), status,
+                        result == null ? "No result for session." : result.optString("message", ""));
+            }
+            statuses.put(id, status);
+        }
+        return new Result(statuses);
+    }
+
+    // The ids are taken with the journeys, in case a session is given a new one meanwhile.
+    private static class Batch {
+        final List<XenonSession> sessions = new ArrayList<>();
+        final List<String> ids = new ArrayList<>();
+        final List<JSONObject> entries = new ArrayList<>();
+        final List<JSONArray> journeys = new ArrayList<>();
+        long bytes = 0;
+
+        void add(XenonSession session, JSONObject entry, JSONArray journey, long _bytes) {
+            sessions.add(session);
+            ids.add(entry.getString("id"));
+            entries.add(entry);
+            journeys.add(journey);
+            bytes += _bytes;
+        }
+
+        boolean isEmpty() {
+            return sessions.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonSession.java
+ * <p>
+ * State of one customer journey: id, buffered journey, credentials, platform and variants.
+ **/
+package xenon.view.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.TransportException;
+import xenon.view.sdk.journey.DeadLetters;
+import xenon.view.sdk.journey.Journal;
+import xenon.view.sdk.journey.JourneyBuffer;
+import xenon.view.sdk.journey.JourneyLimits;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+public class XenonSession {
+    private static final XenonSession global = new XenonSession();
+
+    volatile String id;
+    final JourneyBuffer journey;
+    final DeadLetters deadLetters = new DeadLetters();
+    final CommitCoalescer commits = new CommitCoalescer();
+    volatile String apiUrl = "https://app.xenonview.com";
+    volatile String apiKey = "";
+    volatile boolean allowSelfSigned = false;
+    volatile boolean discardResponses = false;
+    volatile JSONObject platform = new JSONObject();
+    volatile JSONArray variants = new JSONArray();
+
+    public XenonSession() {
+        this(UUID.randomUUID().toString());
+    }
+
+    public XenonSession(String _id) {
+        this(_id, JourneyLimits.defaults());
+    }
+
+    public XenonSession(String _id, JourneyLimits limits) {
+        this(_id, limits, null);
+    }
+
+    // With a journal, events survive a crash and uncommitted ones are replayed here.
+    public XenonSession(String _id, JourneyLimits limits, Journal journal) {
+        id = _id;
+        journey = new JourneyBuffer(limits, journal);
+    }
+
+    // The JVM wide session used by Xenon instances constructed without one.
+    public static XenonSession global() {
+        return global;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public JSONArray journey() {
+        return journey.snapshot();
+    }
+
+    public int bufferedEvents() {
+        return journey.events();
+    }
+
+    public long bufferedBytes() {
+        return journey.bytes();
+    }
+
+    // Commits that joined the next request because one was already in flight.
+    public long coalescedCommits() {
+        return commits.coalesced();
+    }
+
+    // Journeys the collector rejected with a permanent error.
+    public DeadLetters deadLetters() {
+        return deadLetters;
+    }
+
+    // Put back to be sent again, unless the collector refused the journey for good.
+    void failed(JSONArray batch, Throwable err) {
+        final Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+        if (cause instanceof TransportException) {
+            failed(batch, ((TransportException) cause).status(), cause.getMessage());
+            return;
+        }
+        journey.restore(batch);
+    }
+
+    void failed(JSONArray batch, int status, String reason) {
+        if (TransportException.retryable(status)) {
+            journey.restore(batch);
+            return;
+        }
+        deadLetters.add(batch, status, reason);
+        journey.rejected(batch);
+    }
+}
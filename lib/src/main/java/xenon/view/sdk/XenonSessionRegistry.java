@@ -0,0 +1,259 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonSessionRegistry.java
+ * <p>
+ * Sharded map of session ids to Xenon clients with LRU/idle eviction that commits evicted journeys.
+ **/
+package xenon.view.sdk;
+
+import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.journey.JourneyLimits;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Bounds the number of sessions only: eviction does not weigh a session by
+ * its journey. The bytes buffered by all sessions together are bounded by
+ * limits within one shared JourneyBudget, whose overflow policy applies once
+ * it is spent.
+ */
+public class XenonSessionRegistry {
+    public interface ClientMaker {
+        Xenon newClient(XenonSession session);
+    }
+
+    public interface Clock {
+        long millis();
+    }
+
+    // Told about the commit of every session that leaves the registry.
+    public interface EvictionListener {
+        void evicted(String id, CompletableFuture<Json> commit);
+    }
+
+    private static class Entry {
+        final Xenon client;
+        volatile long lastAccess;
+
+        Entry(Xenon _client, long now) {
+            client = _client;
+            lastAccess = now;
+        }
+    }
+
+    // Access ordered, so iteration starts at the least recently used session.
+    private static class Shard extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        Shard() {
+            super(16, 0.75f, true);
+        }
+
+        // Puts an entry where eviction starts; only taken on the failure path, so the copy is fine.
+        void putEldest(String id, XenonSessionRegistry.Entry entry) {
+            LinkedHashMap<String, XenonSessionRegistry.Entry> rest = new LinkedHashMap<>(this);
+            clear();
+            put(id, entry);
+            putAll(rest);
+        }
+    }
+
+    private final Shard[] shards;
+    private final int shardCapacity;
+    private final long idleMillis;
+    private final ClientMaker clientMaker;
+    private final Clock clock;
+    private final JourneyLimits limits;
+    private volatile FlushScheduler scheduler;
+    private volatile EvictionListener evictions = (id, commit) -> {
+    };
+
+    public XenonSessionRegistry(String apiKey, String apiUrl, int maxSessions, long idleMillis) {
+        this(maxSessions, idleMillis, (session) -> new Xenon(session, apiKey, apiUrl), System::currentTimeMillis);
+    }
+
+    public XenonSessionRegistry(String apiKey, String apiUrl, int maxSessions, long idleMillis, JourneyLimits limits) {
+        this(maxSessions, idleMillis, (session) -> new Xenon(session, apiKey, apiUrl), System::currentTimeMillis, limits);
+    }
+
+    public XenonSessionRegistry(int maxSessions, long idleMillis, ClientMaker clientMaker, Clock clock) {
+        this(maxSessions, idleMillis, clientMaker, clock, JourneyLimits.defaults());
+    }
+
+    // Every session gets its own buffer with these limits; share a JourneyBudget
+    // through them to cap all sessions together.
+    public XenonSessionRegistry(int maxSessions, long _idleMillis, ClientMaker _clientMaker, Clock _clock, JourneyLimits _limits) {
+        int count = 1;
+        while (count < Runtime.getRuntime().availableProcessors()) count <<= 1;
+        while (count > 1 && maxSessions / count < 1) count >>= 1;
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) shards[i] = new Shard();
+        shardCapacity = Math.max(1, maxSessions / count);
+        idleMillis = _idleMillis;
+        clientMaker = _clientMaker;
+        clock = _clock;
+        limits = _limits;
+    }
+
+    // Sessions created from now on are committed by the scheduler until they leave the registry.
+    public XenonSessionRegistry autoFlush(FlushScheduler _scheduler) {
+        scheduler = _scheduler;
+        return this;
+    }
+
+    public XenonSessionRegistry evictions(EvictionListener _evictions) {
+        evictions = _evictions;
+        return this;
+    }
+
+    public Xenon session(String id) {
+        final long now = clock.millis();
+        final Shard shard = shardFor(id);
+        List<Xenon> evicted = new ArrayList<>();
+        Entry entry;
+        synchronized (shard) {
+            entry = shard.get(id);
+            if (entry == null) {
+                entry = new Entry(clientMaker.newClient(new XenonSession(id, limits)), now);
+                shard.put(id, entry);
+                if (scheduler != null) scheduler.register(entry.client);
+                Iterator<Entry> eldest = shard.values().iterator();
+                while (shard.size() > shardCapacity) {
+                    evicted.add(eldest.next().client);
+                    eldest.remove();
+                }
+            }
+            entry.lastAccess = now;
+        }
+        flush(evicted, true);
+        return entry.client;
+    }
+
+    public boolean contains(String id) {
+        final Shard shard = shardFor(id);
+        synchronized (shard) {
+            return shard.containsKey(id);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    public List<CompletableFuture<Json>> remove(String id) {
+        final Shard shard = shardFor(id);
+        List<Xenon> removed = new ArrayList<>();
+        synchronized (shard) {
+            Entry entry = shard.remove(id);
+            if (entry != null) removed.add(entry.client);
+        }
+        return flush(removed, false);
+    }
+
+    public List<CompletableFuture<Json>> evictIdle() {
+        final long cutoff = clock.millis() - idleMillis;
+        List<Xenon> evicted = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Iterator<Entry> entries = shard.values().iterator(); entries.hasNext(); ) {
+                    Entry entry = entries.next();
+                    // access ordered: everything after the first fresh entry is fresher
+                    if (entry.lastAccess > cutoff) break;
+                    evicted.add(entry.client);
+                    entries.remove();
+                }
+            }
+        }
+        return flush(evicted, true);
+    }
+
+    public List<CompletableFuture<Json>> close() {
+        List<Xenon> all = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Entry entry : shard.values()) all.add(entry.client);
+                shard.clear();
+            }
+        }
+        return flush(all, false);
+    }
+
+    // Commits every registered session through the batch API, keeping them registered.
+    public List<CompletableFuture<XenonBatch.Result>> commit(XenonBatch batch) throws Throwable {
+        List<XenonSession> sessions = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Entry entry : shard.values()) sessions.add(entry.client.session());
+            }
+        }
+        return batch.commit(sessions);
+    }
+
+    private Shard shardFor(String id) {
+        int hash = id.hashCode();
+        hash ^= (hash >>> 16);
+        return shards[hash & (shards.length - 1)];
+    }
+
+    // Commits outside of the shard locks; a journey that fails to send is
+    // reported through its future and the listener rather than silently
+    // dropped. Evicted sessions nobody asked to remove are taken back when
+    // their commit fails and their shard has room, so the journey is sent
+    // again with a later eviction.
+    private List<CompletableFuture<Json>> flush(List<Xenon> clients, boolean readmit) {
+        List<CompletableFuture<Json>> commits = new ArrayList<>();
+        for (Xenon client : clients) {
+            if (scheduler != null) scheduler.unregister(client);
+            if (client.session().journey.isEmpty()) continue;
+            CompletableFuture<Json> commit;
+            try {
+                commit = client.commit();
+                if (readmit) commit.whenComplete((json, err) -> {
+                    if (err != null) readmit(client);
+                });
+            } catch (Throwable err) {
+                commit = new CompletableFuture<>();
+                commit.completeExceptionally(err);
+            }
+            commits.add(commit);
+            evictions.evicted(client.id(), commit);
+        }
+        return commits;
+    }
+
+    // A journey refused for good is dead lettered and leaves nothing to take
+    // back. The session goes in at the least recently used end, ahead of the
+    // live ones in line for eviction, and only into a free slot: when the
+    // shard is full, as it stays during an outage, the failed commit already
+    // reported is all that is left of it.
+    private void readmit(Xenon client) {
+        if (client.session().journey.isEmpty()) return;
+        final String id = client.id();
+        final Shard shard = shardFor(id);
+        final Xenon live;
+        synchronized (shard) {
+            Entry entry = shard.get(id);
+            if (entry == null) {
+                if (shard.size() >= shardCapacity) return;
+                // idle as far as evictIdle() can tell, so its next pass sends it again
+                shard.putEldest(id, new Entry(client, Long.MIN_VALUE));
+                if (scheduler != null) scheduler.register(client);
+                return;
+            }
+            live = entry.client;
+        }
+        // the customer came back meanwhile
+        live.session().journey.restore(client.session().journey.drain());
+    }
+}
@@ -8,12 +8,14 @@
  **/
 package xenon.view.sdk.api;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xenon.view.sdk.api.fetch.Fetchable;
 import xenon.view.sdk.api.fetch.Fetcher;
 import xenon.view.sdk.api.fetch.Json;
 import xenon.view.sdk.api.fetch.JsonFetcher;
+import xenon.view.sdk.journey.Dictionary;
 
 import java.util.Hashtable;
 import java.util.Map;
@@ -59,6 +61,15 @@ public class ApiBase implements Fetchable {
         return data;
     }
 
+    // Adds the journey, dictionary encoded when that is used.
+    protected JSONObject journey(JSONObject parameters, JSONArray journey) throws JSONException {
+        if (!Dictionary.used()) return parameters.put("journey", journey);
+        JSONObject dictionary = new JSONObject();
+        parameters.put("journey", Dictionary.encode(journey, dictionary));
+        if (dictionary.length() > 0) parameters.put("dictionary", dictionary);
+        return parameters;
+    }
+
     public String path(JSONObject data){
         return path;
     }
@@ -69,11 +80,15 @@ public class ApiBase implements Fetchable {
         JSONObject fetchParameters = new JSONObject() {{
             put("url", fetchUrl);
             put("method", method);
+            put("endpoint", path);
         }};
 
         if (data.has("ignore-certificate-errors")){
             fetchParameters.put("ignore-certificate-errors", data.getBoolean("ignore-certificate-errors"));
         }
+        if (data.has("discard-response")){
+            fetchParameters.put("discard-response", data.getBoolean("discard-response"));
+        }
 
         if (data.length() != 0 || !skipName) {
             JSONObject bodyObject = new JSONObject();
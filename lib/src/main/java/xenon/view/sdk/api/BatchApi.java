@@ -0,0 +1,49 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * BatchApi.java
+ * <p>
+ * Batch API interactions with Xenon View: the journeys of many sessions in one request.
+ **/
+package xenon.view.sdk.api;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.api.fetch.Fetchable;
+
+import java.util.Hashtable;
+
+/*
+ * The collector answers with a result per session,
+ *
+ *   {"sessions": {"<uuid>": {"status": 200}, "<uuid>": {"status": 400, "message": "..."}}}
+ *
+ * so a batch can partly fail.
+ */
+public class BatchApi extends ApiBase {
+    public BatchApi(String apiUrl) { this(apiUrl, null); }
+
+    public BatchApi(String apiUrl, Fetchable jsonFetcher) {
+        super(new Hashtable<String, Object>() {{
+            put("name", "ApiBatch");
+            put("url", "batch");
+            put("apiUrl", apiUrl);
+            put("authenticated", true);
+        }}, jsonFetcher);
+    }
+
+    @Override
+    public JSONObject params(JSONObject data) throws Throwable {
+        JSONObject local = super.params(data);
+        JSONArray sessions = local.getJSONArray("sessions");
+        JSONArray formated = new JSONArray();
+        for (int i = 0; i < sessions.length(); i++) {
+            JSONObject session = sessions.getJSONObject(i);
+            formated.put(journey(new JSONObject().put("uuid", session.getString("id")),
+                    session.getJSONArray("journey")));
+        }
+        return new JSONObject()
+                .put("timestamp", local.getDouble("timestamp"))
+                .put("sessions", formated);
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * CachedApi.java
+ *
+ * Keeps the API built for the last apiUrl so it is only rebuilt when the URL changes.
+ *
+ **/
+package xenon.view.sdk.api;
+
+public class CachedApi<T> implements Api<T> {
+    private static class Built<T> {
+        final String apiUrl;
+        final T instance;
+
+        Built(String _apiUrl, T _instance) {
+            apiUrl = _apiUrl;
+            instance = _instance;
+        }
+    }
+
+    private final Api<T> api;
+    private volatile Built<T> built;
+
+    public CachedApi(Api<T> _api) {
+        api = _api;
+    }
+
+    public T instance(String _apiUrl) {
+        Built<T> current = built;
+        if (current != null && current.apiUrl.equals(_apiUrl)) return current.instance;
+        T instance = api.instance(_apiUrl);
+        if (instance != null) built = new Built<>(_apiUrl, instance);
+        return instance;
+    }
+
+    public void invalidate() {
+        built = null;
+    }
+}
@@ -31,7 +31,7 @@ public class HeartbeatApi extends ApiBase {
             put("uuid", local.getString("id"));
             put("timestamp", local.getDouble("timestamp"));
         }};
-        if (local.has("journey")) formated.put("journey", local.getJSONArray("journey"));
+        if (local.has("journey")) journey(formated, local.getJSONArray("journey"));
         if (local.has("platform")) formated.put("platform", local.getJSONObject("platform"));
         if (local.has("tags")) formated.put("tags", local.getJSONArray("tags"));
         return formated;
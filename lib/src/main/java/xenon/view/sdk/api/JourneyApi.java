@@ -32,7 +32,6 @@ import java.util.Hashtable;
             put("timestamp", local.getDouble("timestamp"));
         }};
         if (!local.has("journey")) return formated;
-        formated.put("journey", local.getJSONArray("journey"));
-        return formated;
+        return journey(formated, local.getJSONArray("journey"));
     }
 }
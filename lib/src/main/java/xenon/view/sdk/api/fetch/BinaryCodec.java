@@ -0,0 +1,80 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * BinaryCodec.java
+ *
+ * Walks a JSON value for the binary codecs, which only differ in how each item is framed.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okio.BufferedSink;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+
+public abstract class BinaryCodec implements Codec {
+    @Override
+    public void write(BufferedSink sink, Object value) throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            writeNull(sink);
+        } else if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            writeMapHeader(sink, object.length());
+            for (Iterator<String> keys = object.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                writeString(sink, key);
+                write(sink, object.opt(key));
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            writeArrayHeader(sink, array.length());
+            for (int i = 0; i < array.length(); i++) write(sink, array.opt(i));
+        } else if (value instanceof String) {
+            writeString(sink, (String) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean(sink, (Boolean) value);
+        } else if (value instanceof Number) {
+            writeNumber(sink, (Number) value);
+        } else {
+            Object wrapped = JSONObject.wrap(value);
+            if (wrapped instanceof JSONObject || wrapped instanceof JSONArray) {
+                write(sink, wrapped);
+            } else {
+                writeString(sink, value.toString());
+            }
+        }
+    }
+
+    // Whole numbers stay integers; everything else is a double, as JSON would read it.
+    private void writeNumber(BufferedSink sink, Number number) throws IOException {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            writeLong(sink, number.longValue());
+        } else if (number instanceof BigInteger && ((BigInteger) number).bitLength() < 64) {
+            writeLong(sink, number.longValue());
+        } else if (number instanceof BigDecimal && ((BigDecimal) number).scale() <= 0
+                && ((BigDecimal) number).toBigInteger().bitLength() < 64) {
+            writeLong(sink, number.longValue());
+        } else {
+            writeDouble(sink, number.doubleValue());
+        }
+    }
+
+    protected abstract void writeNull(BufferedSink sink) throws IOException;
+
+    protected abstract void writeBoolean(BufferedSink sink, boolean value) throws IOException;
+
+    protected abstract void writeLong(BufferedSink sink, long value) throws IOException;
+
+    protected abstract void writeDouble(BufferedSink sink, double value) throws IOException;
+
+    protected abstract void writeString(BufferedSink sink, String value) throws IOException;
+
+    protected abstract void writeArrayHeader(BufferedSink sink, int size) throws IOException;
+
+    protected abstract void writeMapHeader(BufferedSink sink, int size) throws IOException;
+}
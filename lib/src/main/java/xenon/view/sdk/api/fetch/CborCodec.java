@@ -0,0 +1,90 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * CborCodec.java
+ *
+ * CBOR (RFC 8949) request bodies: definite lengths, doubles as float64.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okio.BufferedSink;
+import okio.Utf8;
+
+import java.io.IOException;
+
+public class CborCodec extends BinaryCodec {
+    private static final MediaType cbor = MediaType.parse("application/cbor");
+    private static final int UNSIGNED = 0;
+    private static final int NEGATIVE = 1;
+    private static final int TEXT = 3;
+    private static final int ARRAY = 4;
+    private static final int MAP = 5;
+
+    @Override
+    public MediaType mediaType() {
+        return cbor;
+    }
+
+    @Override
+    protected void writeNull(BufferedSink sink) throws IOException {
+        sink.writeByte(0xf6);
+    }
+
+    @Override
+    protected void writeBoolean(BufferedSink sink, boolean value) throws IOException {
+        sink.writeByte(value ? 0xf5 : 0xf4);
+    }
+
+    @Override
+    protected void writeLong(BufferedSink sink, long value) throws IOException {
+        if (value >= 0) {
+            head(sink, UNSIGNED, value);
+        } else {
+            head(sink, NEGATIVE, -1 - value);
+        }
+    }
+
+    @Override
+    protected void writeDouble(BufferedSink sink, double value) throws IOException {
+        sink.writeByte(0xfb);
+        sink.writeLong(Double.doubleToLongBits(value));
+    }
+
+    @Override
+    protected void writeString(BufferedSink sink, String value) throws IOException {
+        head(sink, TEXT, Utf8.size(value));
+        sink.writeUtf8(value);
+    }
+
+    @Override
+    protected void writeArrayHeader(BufferedSink sink, int size) throws IOException {
+        head(sink, ARRAY, size);
+    }
+
+    @Override
+    protected void writeMapHeader(BufferedSink sink, int size) throws IOException {
+        head(sink, MAP, size);
+    }
+
+    // value is unsigned here; the major type carries the meaning.
+    private static void head(BufferedSink sink, int major, long value) throws IOException {
+        final int type = major << 5;
+        if (value < 24) {
+            sink.writeByte(type | (int) value);
+        } else if (value < 0x100) {
+            sink.writeByte(type | 24);
+            sink.writeByte((int) value);
+        } else if (value < 0x10000) {
+            sink.writeByte(type | 25);
+            sink.writeShort((int) value);
+        } else if (value < 0x100000000L) {
+            sink.writeByte(type | 26);
+            sink.writeInt((int) value);
+        } else {
+            sink.writeByte(type | 27);
+            sink.writeLong(value);
+        }
+    }
+}
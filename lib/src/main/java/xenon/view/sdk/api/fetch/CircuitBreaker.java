@@ -0,0 +1,137 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * CircuitBreaker.java
+ *
+ * Per collector circuit that fails requests fast while the collector is unreachable.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * A collector's circuit opens after a run of failures: the request could not
+ * be sent or the collector answered 5xx. While it is open, requests to that
+ * collector fail at once with Open and never reach the connection pool, so the
+ * journeys stay buffered. Once it has been open long enough, the next request
+ * half opens it and is preceded by a probe, a HEAD of the collector root. Any
+ * answer below 500 closes the circuit and the request goes on; otherwise the
+ * circuit opens again. Requests that arrive while the probe is out fail fast.
+ *
+ * Nothing is torn down on a failure: the dispatcher keeps running and healthy
+ * pooled connections, to this collector or any other, are kept.
+ */
+public class CircuitBreaker {
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    enum Admission {PASS, PROBE, REJECT}
+
+    public static class Open extends TransportException {
+        private static final long serialVersionUID = 1L;
+
+        Open(String collector) {
+            super(0, "Circuit open for " + collector);
+        }
+    }
+
+    private static volatile CircuitBreaker configured = new CircuitBreaker();
+
+    final int failureThreshold;
+    final long openMillis;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final AtomicLong trips = new AtomicLong();
+    private final AtomicLong failedFast = new AtomicLong();
+
+    public CircuitBreaker() {
+        this(5, 30000);
+    }
+
+    public CircuitBreaker(int _failureThreshold, long _openMillis) {
+        this(_failureThreshold, _openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int _failureThreshold, long _openMillis, LongSupplier _clock) {
+        failureThreshold = _failureThreshold;
+        openMillis = _openMillis;
+        clock = _clock;
+    }
+
+    // Used by every JsonFetcher from its next request on.
+    public static void use(CircuitBreaker breaker) {
+        configured = breaker;
+    }
+
+    public static CircuitBreaker configured() {
+        return configured;
+    }
+
+    public State state(String collector) {
+        Circuit circuit = circuits.get(collector);
+        return circuit == null ? State.CLOSED : circuit.state();
+    }
+
+    public long trips() {
+        return trips.get();
+    }
+
+    public long failedFast() {
+        return failedFast.get();
+    }
+
+    Admission admit(String collector) {
+        Circuit circuit = circuits.get(collector);
+        if (circuit == null) return Admission.PASS;
+        Admission admission = circuit.admit(clock.getAsLong());
+        if (admission == Admission.REJECT) failedFast.incrementAndGet();
+        return admission;
+    }
+
+    void succeeded(String collector) {
+        Circuit circuit = circuits.get(collector);
+        if (circuit != null) circuit.succeeded();
+    }
+
+    void failed(String collector) {
+        if (circuits.computeIfAbsent(collector, ignore -> new Circuit()).failed(clock.getAsLong())) {
+            trips.incrementAndGet();
+        }
+    }
+
+    private class Circuit {
+        private State state = State.CLOSED;
+        private int failures = 0;
+        private long since = 0;
+
+        synchronized State state() {
+            return state;
+        }
+
+        // A probe that never came back is replaced after another open period.
+        synchronized Admission admit(long now) {
+            if (state == State.CLOSED) return Admission.PASS;
+            if (now - since < openMillis) return Admission.REJECT;
+            state = State.HALF_OPEN;
+            since = now;
+            return Admission.PROBE;
+        }
+
+        synchronized void succeeded() {
+            state = State.CLOSED;
+            failures = 0;
+        }
+
+        // True when this failure opened the circuit.
+        synchronized boolean failed(long now) {
+            if (state == State.OPEN) return false;
+            if (state == State.CLOSED && ++failures < failureThreshold) return false;
+            state = State.OPEN;
+            since = now;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Codec.java
+ *
+ * Interface for encoding a request body on the wire.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+public interface Codec {
+    MediaType mediaType();
+
+    // value is a JSONObject, JSONArray or anything a JSONObject can hold.
+    void write(BufferedSink sink, Object value) throws IOException;
+}
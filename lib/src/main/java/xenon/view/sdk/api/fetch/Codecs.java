@@ -0,0 +1,88 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Codecs.java
+ *
+ * Process wide choice of wire codec, negotiated per collector.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Every collector is sent JSON until it lists the media types it takes in an
+ * Accept-Post response header; from then on it gets the first preferred codec
+ * it listed. A collector that answers 415 to a codec is sent JSON again and
+ * that codec is not picked for it any more.
+ */
+public class Codecs {
+    public static final Codec json = new JsonCodec();
+    public static final Codec cbor = new CborCodec();
+    public static final Codec messagePack = new MessagePackCodec();
+
+    private static volatile Codecs configured = new Codecs();
+
+    private final List<Codec> preferred;
+    private final ConcurrentHashMap<String, Codec> negotiated = new ConcurrentHashMap<>();
+    private final Set<String> rejected = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    // In order of preference; JSON is always the fallback.
+    public Codecs(Codec... _preferred) {
+        preferred = Arrays.asList(_preferred);
+    }
+
+    // Used by every JsonFetcher from its next request on.
+    public static void use(Codecs codecs) {
+        configured = codecs;
+    }
+
+    public static Codecs configured() {
+        return configured;
+    }
+
+    public Codec codecFor(String collector) {
+        Codec codec = negotiated.get(collector);
+        return codec == null ? json : codec;
+    }
+
+    // Called with the Accept-Post header of every response.
+    public void advertised(String collector, String acceptPost) {
+        if (acceptPost == null || preferred.isEmpty()) return;
+        for (Codec codec : preferred) {
+            if (rejected.contains(collector + " " + name(codec.mediaType()))) continue;
+            if (!lists(acceptPost, codec.mediaType())) continue;
+            negotiated.put(collector, codec);
+            return;
+        }
+        negotiated.remove(collector);
+    }
+
+    // The collector answered 415 to a body of this type.
+    public void rejected(String collector, MediaType type) {
+        rejected.add(collector + " " + name(type));
+        Codec codec = negotiated.get(collector);
+        if (codec != null && name(codec.mediaType()).equals(name(type))) negotiated.remove(collector, codec);
+    }
+
+    private static String name(MediaType type) {
+        return type.type() + "/" + type.subtype();
+    }
+
+    private static boolean lists(String acceptPost, MediaType type) {
+        final String wanted = name(type);
+        for (String listed : acceptPost.split(",")) {
+            int parameters = listed.indexOf(';');
+            if (parameters >= 0) listed = listed.substring(0, parameters);
+            if (listed.trim().toLowerCase(Locale.ROOT).equals(wanted)) return true;
+        }
+        return false;
+    }
+}
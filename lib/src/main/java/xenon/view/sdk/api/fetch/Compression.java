@@ -0,0 +1,182 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Compression.java
+ *
+ * Process wide choice of request body compression, applied above a size threshold.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/*
+ * The headers go out before the body, so whether to compress has to be known
+ * before the body is streamed. The body is written into a buffer until it
+ * passes the threshold: a body that fits is sent from that buffer as is, with
+ * its length; a larger one is abandoned and streamed again through the
+ * compressor. Only up to a segment past the threshold is ever written twice.
+ *
+ * The collector has to accept the Content-Encoding, so this is opt in.
+ */
+public class Compression {
+    public enum Encoding {
+        NONE(null), GZIP("gzip"), DEFLATE("deflate");
+
+        final String header;
+
+        Encoding(String _header) {
+            header = _header;
+        }
+    }
+
+    private static volatile Compression configured = none();
+
+    final Encoding encoding;
+    final long thresholdBytes;
+    final TransportMetrics metrics;
+
+    public Compression(Encoding _encoding, long _thresholdBytes, TransportMetrics _metrics) {
+        encoding = _encoding;
+        thresholdBytes = _thresholdBytes;
+        metrics = _metrics;
+    }
+
+    public static Compression none() {
+        return new Compression(Encoding.NONE, Long.MAX_VALUE, TransportMetrics.global());
+    }
+
+    public static Compression gzip(long thresholdBytes) {
+        return new Compression(Encoding.GZIP, thresholdBytes, TransportMetrics.global());
+    }
+
+    public static Compression deflate(long thresholdBytes) {
+        return new Compression(Encoding.DEFLATE, thresholdBytes, TransportMetrics.global());
+    }
+
+    public Compression metrics(TransportMetrics _metrics) {
+        return new Compression(encoding, thresholdBytes, _metrics);
+    }
+
+    // Used by every JsonFetcher from its next request on.
+    public static void use(Compression compression) {
+        configured = compression;
+    }
+
+    public static Compression configured() {
+        return configured;
+    }
+
+    public void post(Request.Builder request, JSONObject body) throws IOException {
+        post(request, body, Codecs.json);
+    }
+
+    // Posts the body in the codec, compressed when it is larger than the threshold.
+    public void post(Request.Builder request, JSONObject body, Codec codec) throws IOException {
+        metrics.bodies.incrementAndGet();
+        request.removeHeader("content-encoding");
+        if (encoding == Encoding.NONE) {
+            request.post(new EncodedBody(codec, body));
+            return;
+        }
+        final Buffer plain = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new Capped(plain, thresholdBytes))) {
+            codec.write(sink, body);
+        } catch (Capped.Exceeded exceeded) {
+            metrics.compressedBodies.incrementAndGet();
+            request.header("content-encoding", encoding.header);
+            request.post(new Compressed(codec, body));
+            return;
+        }
+        request.post(RequestBody.create(plain.readByteString(), codec.mediaType()));
+    }
+
+    private class Compressed extends RequestBody {
+        private final Codec codec;
+        private final JSONObject body;
+
+        Compressed(Codec _codec, JSONObject _body) {
+            codec = _codec;
+            body = _body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return codec.mediaType();
+        }
+
+        @Override
+        public void writeTo(@NotNull BufferedSink sink) throws IOException {
+            final Counting wire = new Counting(sink);
+            final Counting compressor = new Counting(encoding == Encoding.GZIP ?
+                    new GzipSink(wire) : new DeflaterSink(wire, new Deflater()));
+            try (BufferedSink out = Okio.buffer(compressor)) {
+                codec.write(out, body);
+            }
+            metrics.bytesBeforeCompression.addAndGet(compressor.bytes);
+            metrics.bytesAfterCompression.addAndGet(wire.bytes);
+            metrics.compressionNanos.addAndGet(Math.max(0, compressor.nanos - wire.nanos));
+        }
+    }
+
+    // Counts what passes through and the time spent passing it on.
+    private static class Counting extends ForwardingSink {
+        long bytes = 0;
+        long nanos = 0;
+
+        Counting(Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(@NotNull Buffer source, long byteCount) throws IOException {
+            final long begin = System.nanoTime();
+            super.write(source, byteCount);
+            nanos += System.nanoTime() - begin;
+            bytes += byteCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            final long begin = System.nanoTime();
+            super.close();
+            nanos += System.nanoTime() - begin;
+        }
+    }
+
+    // Buffers a body until it grows past the threshold.
+    private static class Capped extends ForwardingSink {
+        static class Exceeded extends IOException {
+            private static final long serialVersionUID = 1L;
+        }
+
+        private final Buffer buffer;
+        private final long threshold;
+
+        Capped(Buffer _buffer, long _threshold) {
+            super(_buffer);
+            buffer = _buffer;
+            threshold = _threshold;
+        }
+
+        @Override
+        public void write(@NotNull Buffer source, long byteCount) throws IOException {
+            if (buffer.size() + byteCount > threshold) throw new Exceeded();
+            super.write(source, byteCount);
+        }
+    }
+}
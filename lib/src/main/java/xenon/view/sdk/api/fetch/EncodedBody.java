@@ -0,0 +1,37 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * EncodedBody.java
+ *
+ * Request body that streams a value into the connection through a codec.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+// Written again, from the value, whenever okhttp needs the body again.
+public class EncodedBody extends RequestBody {
+    private final Codec codec;
+    private final Object value;
+
+    public EncodedBody(Codec _codec, Object _value) {
+        codec = _codec;
+        value = _value;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return codec.mediaType();
+    }
+
+    @Override
+    public void writeTo(@NotNull BufferedSink sink) throws IOException {
+        codec.write(sink, value);
+    }
+}
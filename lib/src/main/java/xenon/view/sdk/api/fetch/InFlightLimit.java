@@ -0,0 +1,150 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * InFlightLimit.java
+ *
+ * Process wide cap on requests in flight, with what happens to a request over it.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A request holds a permit from the moment it is fetched until its future
+ * completes, retries and their backoff included, so the limit bounds the
+ * pending futures and queued calls a slow collector can pile up. Over the
+ * limit, depending on the policy, a request
+ *
+ *   BLOCK      waits up to the timeout on the calling thread for a permit,
+ *              on application threads only: the flush and retry timers and
+ *              the dispatcher's callbacks serve every session, so a request
+ *              made from them fails at once instead,
+ *   FAIL_FAST  fails at once,
+ *   BUFFER     fails at once, and Xenon does not even drain the journey: it
+ *              stays buffered for the next commit.
+ *
+ * A request that does not get a permit fails with Saturated, which is
+ * retryable, so journeys are restored rather than dead lettered.
+ */
+public class InFlightLimit {
+    public enum Policy {BLOCK, FAIL_FAST, BUFFER}
+
+    public static class Saturated extends TransportException {
+        private static final long serialVersionUID = 1L;
+
+        public Saturated(int maxInFlight) {
+            super(0, maxInFlight + " requests already in flight");
+        }
+    }
+
+    private static volatile InFlightLimit configured = unbounded();
+    private static final ThreadLocal<Boolean> neverBlocks = ThreadLocal.withInitial(() -> false);
+
+    final int maxInFlight;
+    final Policy policy;
+    final long timeoutMillis;
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public InFlightLimit(int _maxInFlight, Policy _policy) {
+        this(_maxInFlight, _policy, 0);
+    }
+
+    public InFlightLimit(int _maxInFlight, Policy _policy, long _timeoutMillis) {
+        if (_maxInFlight < 0) throw new IllegalArgumentException("maxInFlight must not be negative");
+        maxInFlight = _maxInFlight;
+        policy = _policy;
+        timeoutMillis = _timeoutMillis;
+        permits = new Semaphore(_maxInFlight);
+    }
+
+    // Only the dispatcher's own limits apply.
+    public static InFlightLimit unbounded() {
+        return new InFlightLimit(Integer.MAX_VALUE, Policy.FAIL_FAST);
+    }
+
+    // Used by every JsonFetcher from its next request on.
+    public static void use(InFlightLimit limit) {
+        configured = limit;
+    }
+
+    public static InFlightLimit configured() {
+        return configured;
+    }
+
+    // Marks the calling thread as shared by every session, so BLOCK fails fast
+    // on it; returns how it was marked before.
+    public static boolean neverBlock(boolean never) {
+        final boolean was = neverBlocks.get();
+        neverBlocks.set(never);
+        return was;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    // Threads blocked waiting for a permit.
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    // Requests not on the wire yet: callers waiting for a permit and calls queued in the shared dispatcher.
+    public int queueDepth() {
+        return waiting.get() + Transport.queued();
+    }
+
+    public boolean saturated() {
+        return permits.availablePermits() == 0;
+    }
+
+    // True when a commit should leave its journey in the buffer rather than send it.
+    public boolean buffers() {
+        return policy == Policy.BUFFER && saturated();
+    }
+
+    // False when no permit was given; an interrupted wait keeps the interrupt.
+    boolean acquire() {
+        if (permits.tryAcquire()) return admitted();
+        if (policy == Policy.BLOCK && timeoutMillis > 0 && !neverBlocks.get()) {
+            waiting.incrementAndGet();
+            try {
+                if (permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) return admitted();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    private boolean admitted() {
+        inFlight.incrementAndGet();
+        return true;
+    }
+}
@@ -4,25 +4,98 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/*
+ * Keeps the response as it came off the wire. The text is decoded the first
+ * time it is needed and each target type is parsed at most once. Callers get
+ * a copy of the parsed object, so one that changes what it got cannot change
+ * what the next one reads; copying skips the tokenizing and number parsing.
+ * stream() and reader() read the bytes without either. A discarded response
+ * was drained without being kept.
+ */
 public class Json {
-    private final String underlying;
+    private static final Charset utf8 = Charset.forName("UTF-8");
+    private static final Json discarded = new Json(new byte[0]);
+
+    private byte[] bytes;
+    private String underlying;
+    private JSONObject object;
+    private JSONArray array;
 
     public Json(String _underlying) {
         underlying = _underlying;
     }
 
+    public Json(byte[] _bytes) {
+        bytes = _bytes;
+    }
+
+    public static Json discarded() {
+        return discarded;
+    }
+
+    public boolean isDiscarded() {
+        return this == discarded;
+    }
+
     @SuppressWarnings("unchecked")
-    public <T> T to(Class<T> type) throws JSONException {
+    public synchronized <T> T to(Class<T> type) throws JSONException {
         if (type.equals(JSONObject.class)) {
-            return (T) (underlying.equals("") ? new JSONObject() : new JSONObject(underlying));
+            if (object == null) object = text().equals("") ? new JSONObject() : new JSONObject(text());
+            return (T) copy(object);
         }
         if (type.equals(JSONArray.class)) {
-            return (T) (underlying.equals("") ? new JSONArray() : new JSONArray(underlying));
+            if (array == null) array = text().equals("") ? new JSONArray() : new JSONArray(text());
+            return (T) copy(array);
         }
         return null;
     }
 
+    public synchronized int size() {
+        return raw().length;
+    }
+
+    public InputStream stream() {
+        return new ByteArrayInputStream(raw());
+    }
+
+    public Reader reader() {
+        return new InputStreamReader(stream(), utf8);
+    }
+
     public String toString() {
+        return text();
+    }
+
+    private synchronized String text() {
+        if (underlying == null) underlying = new String(bytes, utf8);
         return underlying;
     }
+
+    private synchronized byte[] raw() {
+        if (bytes == null) bytes = underlying.getBytes(utf8);
+        return bytes;
+    }
+
+    // Everything else a parse produces (strings, numbers, booleans, NULL) is immutable and shared.
+    private static Object copy(Object value) throws JSONException {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            JSONObject copy = new JSONObject();
+            for (String key : object.keySet()) copy.put(key, copy(object.opt(key)));
+            return copy;
+        }
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            JSONArray copy = new JSONArray();
+            for (int i = 0; i < array.length(); i++) copy.put(copy(array.opt(i)));
+            return copy;
+        }
+        return value;
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * JsonBody.java
+ *
+ * Request body that streams a JSONObject into the connection as UTF-8.
+ */
+package xenon.view.sdk.api.fetch;
+
+import okio.BufferedSink;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.journey.Template;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/*
+ * Writes the same text as JSONObject.toString(), but straight into the sink:
+ * no String of the whole payload and no byte[] copy of it. Runs of characters
+ * that need no escaping go to the sink in one call. The length is not known
+ * up front, so the body is sent chunked; writing it again (retries, redirects)
+ * serializes the object again. Stock events start with their template's
+ * precomputed bytes, so the output can order their keys differently, and a
+ * drained one is written from its typed event without being filled in.
+ */
+public class JsonBody extends EncodedBody {
+    private static final char[] hex = "0123456789abcdef".toCharArray();
+
+    public JsonBody(JSONObject body) {
+        super(Codecs.json, body);
+    }
+
+    public static void write(BufferedSink sink, Object value) throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            sink.writeUtf8("null");
+        } else if (value instanceof JSONObject) {
+            writeObject(sink, (JSONObject) value);
+        } else if (value instanceof JSONArray) {
+            writeArray(sink, (JSONArray) value);
+        } else if (value instanceof String) {
+            writeString(sink, (String) value);
+        } else if (value instanceof Number) {
+            sink.writeUtf8(JSONObject.numberToString((Number) value));
+        } else if (value instanceof Boolean) {
+            sink.writeUtf8(value.toString());
+        } else {
+            Object wrapped = JSONObject.wrap(value);
+            if (wrapped instanceof JSONObject || wrapped instanceof JSONArray) {
+                write(sink, wrapped);
+            } else {
+                writeString(sink, value.toString());
+            }
+        }
+    }
+
+    private static void writeObject(BufferedSink sink, JSONObject object) throws IOException {
+        if (object instanceof Template.Json) {
+            writeStock(sink, (Template.Json) object);
+            return;
+        }
+        sink.writeByte('{');
+        boolean first = true;
+        for (Iterator<String> keys = object.keys(); keys.hasNext(); ) {
+            String key = keys.next();
+            if (!first) sink.writeByte(',');
+            first = false;
+            writeString(sink, key);
+            sink.writeByte(':');
+            write(sink, object.opt(key));
+        }
+        sink.writeByte('}');
+    }
+
+    // A stock event's constant fields are copied from its template as they are, the rest come from the event.
+    private static void writeStock(BufferedSink sink, Template.Json event) throws IOException {
+        sink.writeByte('{');
+        sink.write(event.template().json());
+        event.fields(sink, JsonBody::writeMember);
+        sink.writeByte('}');
+    }
+
+    // Follows the constant fields, so always after a comma.
+    private static void writeMember(BufferedSink sink, String key, Object value) throws IOException {
+        if (value == null) return;
+        sink.writeByte(',');
+        writeString(sink, key);
+        sink.writeByte(':');
+        write(sink, value);
+    }
+
+    private static void writeArray(BufferedSink sink, JSONArray array) throws IOException {
+        sink.writeByte('[');
+        for (int i = 0; i < array.length(); i++) {
+            if (i > 0) sink.writeByte(',');
+            write(sink, array.opt(i));
+        }
+        sink.writeByte(']');
+    }
+
+    // Escapes exactly like JSONObject.quote().
+    private static void writeString(BufferedSink sink, String value) throws IOException {
+        sink.writeByte('"');
+        final int length = value.length();
+        int run = 0;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            final String escape = escape(c, previous);
+            previous = c;
+            if (escape == null) continue;
+            if (run < i) sink.writeUtf8(value, run, i);
+            run = i + 1;
+            if (escape.isEmpty()) {
+                sink.writeUtf8("\\u");
+                for (int shift = 12; shift >= 0; shift -= 4) sink.writeByte(hex[(c >> shift) & 0xf]);
+            } else {
+                sink.writeUtf8(escape);
+            }
+        }
+        if (run < length) sink.writeUtf8(value, run, length);
+        sink.writeByte('"');
+    }
+
+    // null when c is written as is, "" when it needs a unicode escape.
+    private static String escape(char c, char previous) {
+        switch (c) {
+            case '\\':
+                return "\\\\";
+            case '"':
+                return "\\\"";
+            case '/':
+                return previous == '<' ? "\\/" : null;
+            case '\b':
+                return "\\b";
+            case '\t':
+                return "\\t";
+            case '\n':
+                return "\\n";
+            case '\f':
+                return "\\f";
+            case '\r':
+                return "\\r";
+            default:
+                if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) return "";
+                return null;
+        }
+    }
+}
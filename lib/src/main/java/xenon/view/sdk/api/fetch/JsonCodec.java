@@ -0,0 +1,28 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * JsonCodec.java
+ *
+ * JSON text, what every collector accepts.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+public class JsonCodec implements Codec {
+    private static final MediaType json = MediaType.parse("application/json; charset=utf-8");
+
+    @Override
+    public MediaType mediaType() {
+        return json;
+    }
+
+    @Override
+    public void write(BufferedSink sink, Object value) throws IOException {
+        JsonBody.write(sink, value);
+    }
+}
@@ -8,33 +8,30 @@
 package xenon.view.sdk.api.fetch;
 
 import okhttp3.*;
+import okio.Okio;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import javax.net.ssl.*;
 import java.io.IOException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class JsonFetcher implements Fetchable {
-    private OkHttpClient client;
-    private OkHttpClient.Builder builder = new OkHttpClient.Builder();
+    // null for the shared transport, which is looked up on every request so a
+    // fetcher outlives Transport.close() and start()
+    private final OkHttpClient client;
+    private OkHttpClient.Builder builder;
     public interface NewHttpClientPointer {
         OkHttpClient newClient();
     }
-    private static OkHttpClient newClient(){
-        return new OkHttpClient();
-    }
-    private NewHttpClientPointer httpClientMaker = JsonFetcher::newClient;
+    private NewHttpClientPointer httpClientMaker = Transport::client;
 
 
     public JsonFetcher(){
-        client = JsonFetcher.newClient();
+        client = null;
     }
 
     public JsonFetcher(NewHttpClientPointer _clientMaker){
@@ -52,18 +49,20 @@ public class JsonFetcher implements Fetchable {
             put("accept", "application/json");
         }};
 
-        if(data.has("ignore-certificate-errors") && data.getBoolean("ignore-certificate-errors")){
-            OkHttpClient saved = client;
-            try {
-                allowSelfSignedCert();
-            } catch (Throwable err){
-                System.out.println("Unable to use self signed cert: " + err.getMessage());
-                client = saved;
-            }
-        }
+        final OkHttpClient client =
+                data.has("ignore-certificate-errors") && data.getBoolean("ignore-certificate-errors") ?
+                        trusting() : client();
 
         Request.Builder builder = new Request.Builder()
                 .url(data.getString("url"));
+        final Codecs codecs = Codecs.configured();
+        final Compression compression = Compression.configured();
+        final CircuitBreaker breaker = CircuitBreaker.configured();
+        final Retries retries = Retries.configured();
+        final RetryPolicy retry = retries.policy(data.has("endpoint") ? data.getString("endpoint") : null);
+        final String collector = collector(builder.build().url());
+        final JSONObject body = data.has("body") ? data.getJSONObject("body") : null;
+        final boolean discard = data.has("discard-response") && data.getBoolean("discard-response");
 
 
         addHeaders(builder, defaultHeaders);
@@ -72,9 +71,12 @@ public class JsonFetcher implements Fetchable {
         if (data.has("method")){
             switch (data.getString("method")){
                 case "POST":
-                    JSONObject jsonBody = data.getJSONObject("body");
-                    String body = jsonBody.toString();
-                    builder.post(RequestBody.create(body, MediaType.parse("application/json")));
+                    try {
+                        compression.post(builder, body, codecs.codecFor(collector));
+                    } catch (IOException err) {
+                        completableFuture.completeExceptionally(err);
+                        return completableFuture;
+                    }
                     break;
                 case "GET":
                 default:
@@ -84,52 +86,177 @@ public class JsonFetcher implements Fetchable {
         }
         Request request = builder.build();
 
-        client.newCall(request).enqueue(new Callback() {
+        class Exchange implements Callback {
+            private int attempt = 1;
+
+            // Through the circuit breaker, probing first when it is half open.
+            void send(Request request) {
+                switch (breaker.admit(collector)) {
+                    case REJECT:
+                        completableFuture.completeExceptionally(new CircuitBreaker.Open(collector));
+                        break;
+                    case PROBE:
+                        probe(client, request, breaker, collector, this, completableFuture);
+                        break;
+                    default:
+                        client.newCall(request).enqueue(neverBlocking(this));
+                }
+            }
+
             @Override
             public void onFailure(@NotNull Call call, @NotNull IOException e) {
-                //HTTP request exception
-                client.dispatcher().executorService().shutdown();
-                client.connectionPool().evictAll();
-                client = httpClientMaker.newClient();
+                //HTTP request exception; the client and its healthy connections are kept
+                breaker.failed(collector);
+                if (retry(call.request(), -1)) return;
                 completableFuture.completeExceptionally(e);
             }
 
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+                if (response.code() >= 500) {
+                    breaker.failed(collector);
+                } else {
+                    breaker.succeeded(collector);
+                }
+                if (TransportException.retryable(response.code()) && retry(call.request(), Retries.retryAfterMillis(response))) {
+                    response.close();
+                    return;
+                }
+                codecs.advertised(collector, response.header("accept-post"));
+                if (response.code() == 415 && resendAsJson(call, response)) return;
                 if (!checkStatus(response, completableFuture)) return;
                 try{
-                    String body = responseBody(response);
-                    Json json = new Json(body);
-                    completableFuture.complete(json);
+                    completableFuture.complete(discard ? discarded(response) : responseJson(response));
                 } catch (Throwable err) {
                     completableFuture.completeExceptionally(err);
                 }
             }
-        });
+
+            // The collector does not take the binary codec after all.
+            private boolean resendAsJson(Call call, Response response) {
+                RequestBody sent = call.request().body();
+                MediaType type = sent == null ? null : sent.contentType();
+                if (body == null || type == null || type.subtype().equals("json")) return false;
+                response.close();
+                codecs.rejected(collector, type);
+                Request.Builder resend = call.request().newBuilder();
+                try {
+                    compression.post(resend, body, Codecs.json);
+                } catch (IOException err) {
+                    completableFuture.completeExceptionally(err);
+                    return true;
+                }
+                client.newCall(resend.build()).enqueue(neverBlocking(this));
+                return true;
+            }
+
+            // Sent again after a backoff while the policy and the retry budget allow it.
+            private boolean retry(Request request, long retryAfterMillis) {
+                if (!retries.retry(retry, attempt, retryAfterMillis, () -> send(request))) return false;
+                attempt++;
+                return true;
+            }
+        }
+        // held until the future completes, retries included
+        final InFlightLimit limit = InFlightLimit.configured();
+        if (!limit.acquire()) {
+            completableFuture.completeExceptionally(new InFlightLimit.Saturated(limit.maxInFlight));
+            return completableFuture;
+        }
+        completableFuture.whenComplete((json, err) -> limit.release());
+        retries.sent();
+        new Exchange().send(request);
         return completableFuture;
     }
 
-    private void allowSelfSignedCert() throws NoSuchAlgorithmException, KeyManagementException {
-        X509TrustManager TRUST_ALL_CERTS = new X509TrustManager() {
+    // Sends the request only once a HEAD of the collector root got an answer.
+    private void probe(OkHttpClient client, Request request, CircuitBreaker breaker, String collector,
+                       Callback callback, CompletableFuture<Json> completableFuture) {
+        Request probe = new Request.Builder()
+                .url(request.url().newBuilder().encodedPath("/").query(null).build())
+                .head()
+                .build();
+        client.newCall(probe).enqueue(neverBlocking(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                breaker.failed(collector);
+                completableFuture.completeExceptionally(e);
+            }
+
             @Override
-            public void checkClientTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                final int status = response.code();
+                response.close();
+                if (status >= 500) {
+                    breaker.failed(collector);
+                    completableFuture.completeExceptionally(new CircuitBreaker.Open(collector));
+                    return;
+                }
+                breaker.succeeded(collector);
+                client.newCall(request).enqueue(neverBlocking(callback));
             }
+        }));
+    }
 
+    // Callbacks run on the dispatcher's threads, which a BLOCK limit must not park
+    // while they chain the next commit.
+    private static Callback neverBlocking(Callback callback) {
+        return new Callback() {
             @Override
-            public void checkServerTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                final boolean was = InFlightLimit.neverBlock(true);
+                try {
+                    callback.onFailure(call, e);
+                } finally {
+                    InFlightLimit.neverBlock(was);
+                }
             }
 
             @Override
-            public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                return new java.security.cert.X509Certificate[] {};
+            public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+                final boolean was = InFlightLimit.neverBlock(true);
+                try {
+                    callback.onResponse(call, response);
+                } finally {
+                    InFlightLimit.neverBlock(was);
+                }
             }
         };
+    }
+
+    private static String collector(HttpUrl url) {
+        return url.host() + ":" + url.port();
+    }
 
-        SSLContext sslContext = SSLContext.getInstance("SSL");
-        sslContext.init(null, new TrustManager[] { TRUST_ALL_CERTS }, new java.security.SecureRandom());
-        client = builder
-                .sslSocketFactory(sslContext.getSocketFactory(), TRUST_ALL_CERTS)
-                .hostnameVerifier((hostname, session) -> true).build();
+    private OkHttpClient client() {
+        return client != null ? client : Transport.client();
+    }
+
+    // Shared by every fetcher on the same client; the plain client if it cannot be built.
+    OkHttpClient trusting() {
+        final OkHttpClient base = client();
+        try {
+            return Transport.trusting(base, builder);
+        } catch (Throwable err) {
+            System.out.println("Unable to use self signed cert: " + err.getMessage());
+            return base;
+        }
+    }
+
+    // Kept as bytes; Json decodes and parses them only when asked.
+    private Json responseJson(@NotNull Response response) throws Throwable {
+        try (ResponseBody responseBody = response.body()) {
+            if (responseBody == null) throw (new Throwable("No response body."));
+            return new Json(responseBody.bytes());
+        }
+    }
+
+    // Read to the end so the connection can be reused, but not kept.
+    private Json discarded(@NotNull Response response) throws IOException {
+        try (ResponseBody responseBody = response.body()) {
+            if (responseBody != null) responseBody.source().readAll(Okio.blackhole());
+        }
+        return Json.discarded();
     }
 
     private String responseBody(@NotNull Response response) throws Throwable {
@@ -144,14 +271,16 @@ public class JsonFetcher implements Fetchable {
         if (status >= 200 && status < 400) return true;
         if (status >= 400 && status < 500) {
             try {
-                completableFuture.completeExceptionally(new Throwable(responseBody(response)));
+                completableFuture.completeExceptionally(new TransportException(status, responseBody(response)));
             } catch (Throwable err) {
                 completableFuture.completeExceptionally(err);
             }
             return false;
         }
+        // only the reason phrase is kept; the body is closed unread so the connection is not leaked
+        response.close();
         try {
-            completableFuture.completeExceptionally(new Throwable(response.message()));
+            completableFuture.completeExceptionally(new TransportException(status, response.message()));
         } catch (Throwable err) {
             completableFuture.completeExceptionally(err);
         }
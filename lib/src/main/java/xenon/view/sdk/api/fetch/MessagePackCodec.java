@@ -0,0 +1,115 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * MessagePackCodec.java
+ *
+ * MessagePack request bodies: smallest integer and string forms, doubles as float64.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.MediaType;
+import okio.BufferedSink;
+import okio.Utf8;
+
+import java.io.IOException;
+
+public class MessagePackCodec extends BinaryCodec {
+    private static final MediaType messagePack = MediaType.parse("application/msgpack");
+
+    @Override
+    public MediaType mediaType() {
+        return messagePack;
+    }
+
+    @Override
+    protected void writeNull(BufferedSink sink) throws IOException {
+        sink.writeByte(0xc0);
+    }
+
+    @Override
+    protected void writeBoolean(BufferedSink sink, boolean value) throws IOException {
+        sink.writeByte(value ? 0xc3 : 0xc2);
+    }
+
+    @Override
+    protected void writeLong(BufferedSink sink, long value) throws IOException {
+        if (value >= 0) {
+            if (value < 0x80) {
+                sink.writeByte((int) value);
+            } else if (value < 0x100) {
+                sink.writeByte(0xcc);
+                sink.writeByte((int) value);
+            } else if (value < 0x10000) {
+                sink.writeByte(0xcd);
+                sink.writeShort((int) value);
+            } else if (value < 0x100000000L) {
+                sink.writeByte(0xce);
+                sink.writeInt((int) value);
+            } else {
+                sink.writeByte(0xcf);
+                sink.writeLong(value);
+            }
+        } else if (value >= -32) {
+            sink.writeByte((int) value);
+        } else if (value >= Byte.MIN_VALUE) {
+            sink.writeByte(0xd0);
+            sink.writeByte((int) value);
+        } else if (value >= Short.MIN_VALUE) {
+            sink.writeByte(0xd1);
+            sink.writeShort((int) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            sink.writeByte(0xd2);
+            sink.writeInt((int) value);
+        } else {
+            sink.writeByte(0xd3);
+            sink.writeLong(value);
+        }
+    }
+
+    @Override
+    protected void writeDouble(BufferedSink sink, double value) throws IOException {
+        sink.writeByte(0xcb);
+        sink.writeLong(Double.doubleToLongBits(value));
+    }
+
+    @Override
+    protected void writeString(BufferedSink sink, String value) throws IOException {
+        final long size = Utf8.size(value);
+        if (size < 32) {
+            sink.writeByte(0xa0 | (int) size);
+        } else if (size < 0x100) {
+            sink.writeByte(0xd9);
+            sink.writeByte((int) size);
+        } else if (size < 0x10000) {
+            sink.writeByte(0xda);
+            sink.writeShort((int) size);
+        } else {
+            sink.writeByte(0xdb);
+            sink.writeInt((int) size);
+        }
+        sink.writeUtf8(value);
+    }
+
+    @Override
+    protected void writeArrayHeader(BufferedSink sink, int size) throws IOException {
+        collection(sink, size, 0x90, 0xdc, 0xdd);
+    }
+
+    @Override
+    protected void writeMapHeader(BufferedSink sink, int size) throws IOException {
+        collection(sink, size, 0x80, 0xde, 0xdf);
+    }
+
+    private static void collection(BufferedSink sink, int size, int fixed, int sixteen, int thirtyTwo) throws IOException {
+        if (size < 16) {
+            sink.writeByte(fixed | size);
+        } else if (size < 0x10000) {
+            sink.writeByte(sixteen);
+            sink.writeShort(size);
+        } else {
+            sink.writeByte(thirtyTwo);
+            sink.writeInt(size);
+        }
+    }
+}
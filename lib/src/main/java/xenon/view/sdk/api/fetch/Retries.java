@@ -0,0 +1,126 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Retries.java
+ *
+ * Process wide retry policies per endpoint, sharing one retry budget.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.Response;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Only requests that name their endpoint are retried (the Api classes do:
+ * "journey", "heartbeat", "deanonymize"). Retried are failures to send, 408,
+ * 429 and the 5xx a collector answers while it is overloaded or restarting.
+ * Waiting retries sit on one daemon timer thread; the request itself goes back
+ * through the fetcher's circuit breaker, so a retry into an open circuit fails
+ * fast like any other request.
+ */
+public class Retries {
+    private static volatile Retries configured = defaults();
+    private static ScheduledExecutorService timer;
+
+    final RetryBudget budget;
+    private final Map<String, RetryPolicy> policies = new ConcurrentHashMap<>();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong overBudget = new AtomicLong();
+
+    public Retries(RetryBudget _budget) {
+        budget = _budget;
+    }
+
+    // Up to 4 attempts within a minute for journeys, heartbeats and batches, retries at most 20% of traffic.
+    public static Retries defaults() {
+        return new Retries(new RetryBudget(0.2, 10))
+                .policy("journey", RetryPolicy.exponential(4, 1000, 60000))
+                .policy("heartbeat", RetryPolicy.exponential(4, 1000, 60000))
+                .policy("batch", RetryPolicy.exponential(4, 1000, 60000))
+                .policy("deanonymize", RetryPolicy.exponential(3, 1000, 30000));
+    }
+
+    public static Retries none() {
+        return new Retries(new RetryBudget(0, 0));
+    }
+
+    // Used by every JsonFetcher from its next request on.
+    public static void use(Retries _retries) {
+        configured = _retries;
+    }
+
+    public static Retries configured() {
+        return configured;
+    }
+
+    public Retries policy(String endpoint, RetryPolicy policy) {
+        policies.put(endpoint, policy);
+        return this;
+    }
+
+    public RetryPolicy policy(String endpoint) {
+        RetryPolicy policy = endpoint == null ? null : policies.get(endpoint);
+        return policy == null ? RetryPolicy.none() : policy;
+    }
+
+    public long retries() {
+        return retries.get();
+    }
+
+    public long overBudget() {
+        return overBudget.get();
+    }
+
+    void sent() {
+        budget.sent();
+    }
+
+    // Schedules the next attempt; false when the policy or the budget says no.
+    boolean retry(RetryPolicy policy, int attempt, long retryAfterMillis, Runnable send) {
+        final long delay = policy.delay(attempt, retryAfterMillis, ThreadLocalRandom.current().nextDouble());
+        if (delay < 0) return false;
+        if (!budget.withdraw()) {
+            overBudget.incrementAndGet();
+            return false;
+        }
+        retries.incrementAndGet();
+        timer().schedule(send, delay, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    // Retry-After of a 429 or 503 in seconds or as a date; -1 when there is none.
+    static long retryAfterMillis(Response response) {
+        if (response.code() != 429 && response.code() != 503) return -1;
+        final String value = response.header("retry-after");
+        if (value == null) return -1;
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            final Date date = response.headers().getDate("retry-after");
+            return date == null ? -1 : Math.max(0, date.getTime() - System.currentTimeMillis());
+        }
+    }
+
+    private static synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(() -> {
+                    InFlightLimit.neverBlock(true);
+                    runnable.run();
+                }, "xenon-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timer;
+    }
+}
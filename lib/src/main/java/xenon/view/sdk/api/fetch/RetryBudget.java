@@ -0,0 +1,39 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * RetryBudget.java
+ *
+ * Process wide cap on retries as a fraction of the requests sent.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+/*
+ * Every request sent puts ratio into the budget and every retry takes one out,
+ * so once the reserve is spent retries stay under that fraction of traffic no
+ * matter how many requests fail. The balance never grows past the reserve,
+ * which is also what it starts with: a quiet process can still retry a few
+ * requests, but a long healthy stretch does not save up for a retry storm.
+ */
+public class RetryBudget {
+    final double ratio;
+    final double reserve;
+    private double balance;
+
+    public RetryBudget(double _ratio, int _reserve) {
+        ratio = _ratio;
+        reserve = _reserve;
+        balance = _reserve;
+    }
+
+    synchronized void sent() {
+        balance = Math.min(reserve, balance + ratio);
+    }
+
+    // False when the retry is over budget.
+    synchronized boolean withdraw() {
+        if (balance < 1) return false;
+        balance -= 1;
+        return true;
+    }
+}
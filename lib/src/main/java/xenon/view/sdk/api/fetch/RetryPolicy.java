@@ -0,0 +1,46 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * RetryPolicy.java
+ *
+ * How often and how far apart a request to one endpoint is retried.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+/*
+ * Exponential backoff with full jitter: before attempt n + 1 the request waits
+ * anywhere between nothing and min(max, base * 2^(n - 1)), so sessions that
+ * failed together do not come back together. A Retry-After from the collector
+ * is waited out in full; one longer than the maximum delay is not retried at
+ * all and the journey stays buffered for a later commit.
+ */
+public class RetryPolicy {
+    final int maxAttempts;
+    final long baseDelayMillis;
+    final long maxDelayMillis;
+
+    public RetryPolicy(int _maxAttempts, long _baseDelayMillis, long _maxDelayMillis) {
+        maxAttempts = _maxAttempts;
+        baseDelayMillis = _baseDelayMillis;
+        maxDelayMillis = _maxDelayMillis;
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0, 0);
+    }
+
+    public static RetryPolicy exponential(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        return new RetryPolicy(maxAttempts, baseDelayMillis, maxDelayMillis);
+    }
+
+    // Delay before the attempt after this one; -1 when there is none. random is in [0, 1).
+    long delay(int attempt, long retryAfterMillis, double random) {
+        if (attempt >= maxAttempts) return -1;
+        if (retryAfterMillis > maxDelayMillis) return -1;
+        final int doublings = Math.min(attempt - 1, 62);
+        final long cap = baseDelayMillis > (maxDelayMillis >> doublings) ?
+                maxDelayMillis : baseDelayMillis << doublings;
+        return Math.max(retryAfterMillis, (long) (random * cap));
+    }
+}
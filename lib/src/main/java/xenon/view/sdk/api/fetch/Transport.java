@@ -0,0 +1,75 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * Transport.java
+ *
+ * Process wide HTTP transport shared by all fetchers.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.OkHttpClient;
+
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class Transport {
+    private static volatile OkHttpClient shared;
+    // trust-all clients by the client they are derived from, so a new shared client gets its own
+    private static final Map<OkHttpClient, OkHttpClient> trusting = new WeakHashMap<>();
+
+    public static void start() {
+        start(new OkHttpClient.Builder());
+    }
+
+    public static synchronized void start(OkHttpClient.Builder builder) {
+        if (shared != null) return;
+        shared = builder.build();
+    }
+
+    public static OkHttpClient client() {
+        OkHttpClient client = shared;
+        if (client != null) return client;
+        synchronized (Transport.class) {
+            start();
+            return shared;
+        }
+    }
+
+    // Built once per base client on the process wide trust-all context, sharing its pool and dispatcher.
+    static OkHttpClient trusting(OkHttpClient base, OkHttpClient.Builder builder) throws GeneralSecurityException {
+        synchronized (trusting) {
+            OkHttpClient trusted = trusting.get(base);
+            if (trusted == null) {
+                trusted = TrustAll.client(builder != null ? builder : base.newBuilder());
+                trusting.put(base, trusted);
+            }
+            return trusted;
+        }
+    }
+
+    // Calls waiting in the shared dispatcher for one of its own slots.
+    public static int queued() {
+        OkHttpClient client = shared;
+        return client == null ? 0 : client.dispatcher().queuedCallsCount();
+    }
+
+    public static boolean started() {
+        return shared != null;
+    }
+
+    public static synchronized void close() {
+        if (shared == null) return;
+        shutdown(shared);
+        synchronized (trusting) {
+            trusting.remove(shared);
+        }
+        shared = null;
+    }
+
+    private static void shutdown(OkHttpClient client) {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
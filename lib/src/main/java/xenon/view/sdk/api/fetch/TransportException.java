@@ -0,0 +1,43 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TransportException.java
+ *
+ * Failed request with the status the collector answered and whether sending it again can help.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import java.io.IOException;
+
+/*
+ * The message is what the collector said: the body of a 4xx, the reason
+ * phrase of anything else. Status 0 means there was no answer at all. Only
+ * timeouts, throttling and transient server errors are worth sending again,
+ * both by Retries and by the session that restores the journey; any other
+ * status, a 501 included, rejects the request itself and will reject it
+ * again.
+ */
+public class TransportException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public TransportException(int _status, String message) {
+        super(message);
+        status = _status;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public boolean retryable() {
+        return retryable(status);
+    }
+
+    public static boolean retryable(int status) {
+        return status == 0 || status == 408 || status == 429 ||
+                status == 500 || status == 502 || status == 503 || status == 504;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TransportMetrics.java
+ *
+ * Counters for request bodies sent and what compressing them saved and cost.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransportMetrics {
+    private static final TransportMetrics global = new TransportMetrics();
+
+    final AtomicLong bodies = new AtomicLong();
+    final AtomicLong compressedBodies = new AtomicLong();
+    final AtomicLong bytesBeforeCompression = new AtomicLong();
+    final AtomicLong bytesAfterCompression = new AtomicLong();
+    final AtomicLong compressionNanos = new AtomicLong();
+
+    // Shared by every compression setting that is not given its own metrics.
+    public static TransportMetrics global() {
+        return global;
+    }
+
+    public long bodies() {
+        return bodies.get();
+    }
+
+    public long compressedBodies() {
+        return compressedBodies.get();
+    }
+
+    public long bytesBeforeCompression() {
+        return bytesBeforeCompression.get();
+    }
+
+    public long bytesAfterCompression() {
+        return bytesAfterCompression.get();
+    }
+
+    // Compressed size over original size of the compressed bodies; 1 until one is sent.
+    public double compressionRatio() {
+        long before = bytesBeforeCompression.get();
+        return before == 0 ? 1.0 : (double) bytesAfterCompression.get() / before;
+    }
+
+    // Time spent inside the compressor on the writing thread, sink writes excluded.
+    public long compressionNanos() {
+        return compressionNanos.get();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ *
+ * TrustAll.java
+ *
+ * Process wide TLS context that accepts self signed collector certificates.
+ *
+ **/
+package xenon.view.sdk.api.fetch;
+
+import okhttp3.OkHttpClient;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+
+/*
+ * Building an SSLContext seeds a SecureRandom and a socket factory; doing it
+ * per request also gives every request a different factory, so okhttp never
+ * finds a pooled connection for it and each one pays a full handshake. The
+ * context and its factory here are built once: connections are pooled across
+ * every trusting client, and the session cache lets a new connection to a
+ * collector resume its TLS session instead.
+ */
+final class TrustAll {
+    static final int sessionCacheSize = 64;
+    static final int sessionTimeoutSeconds = 24 * 60 * 60;
+
+    static final X509TrustManager trustManager = new X509TrustManager() {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[]{};
+        }
+    };
+
+    static final HostnameVerifier hostnameVerifier = (hostname, session) -> true;
+
+    private static SSLSocketFactory socketFactory;
+
+    private TrustAll() {
+    }
+
+    static synchronized SSLSocketFactory socketFactory() throws GeneralSecurityException {
+        if (socketFactory == null) {
+            SSLContext built = SSLContext.getInstance("TLS");
+            built.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+            SSLSessionContext sessions = built.getClientSessionContext();
+            sessions.setSessionCacheSize(sessionCacheSize);
+            sessions.setSessionTimeout(sessionTimeoutSeconds);
+            socketFactory = built.getSocketFactory();
+        }
+        return socketFactory;
+    }
+
+    // Derived from the builder so the pool and dispatcher stay shared.
+    static OkHttpClient client(OkHttpClient.Builder builder) throws GeneralSecurityException {
+        return builder
+                .sslSocketFactory(socketFactory(), trustManager)
+                .hostnameVerifier(hostnameVerifier)
+                .build();
+    }
+}
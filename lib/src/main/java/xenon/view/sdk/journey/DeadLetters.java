@@ -0,0 +1,81 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * DeadLetters.java
+ * <p>
+ * Bounded store of journeys the collector rejected for good.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * A batch the collector refuses with a permanent error would be refused again
+ * on every commit, so it is kept here instead of going back into the journey.
+ * The store holds at most maxEvents events; the oldest letters make room for
+ * new ones and are counted as evicted. drain() hands the letters out, e.g. to
+ * log them or to add their events again once the cause is fixed.
+ */
+public class DeadLetters {
+    public static final int defaultMaxEvents = 5000;
+
+    public static class Letter {
+        public final JSONArray journey;
+        public final int status;
+        public final String reason;
+
+        Letter(JSONArray _journey, int _status, String _reason) {
+            journey = _journey;
+            status = _status;
+            reason = _reason;
+        }
+    }
+
+    private final int maxEvents;
+    private final Deque<Letter> letters = new ArrayDeque<>();
+    private int events = 0;
+    private long evicted = 0;
+
+    public DeadLetters() {
+        this(defaultMaxEvents);
+    }
+
+    public DeadLetters(int _maxEvents) {
+        maxEvents = _maxEvents;
+    }
+
+    public synchronized void add(JSONArray journey, int status, String reason) {
+        letters.addLast(new Letter(journey, status, reason));
+        events += journey.length();
+        while (events > maxEvents) {
+            Letter oldest = letters.removeFirst();
+            events -= oldest.journey.length();
+            evicted += oldest.journey.length();
+        }
+    }
+
+    public synchronized List<Letter> drain() {
+        List<Letter> drained = new ArrayList<>(letters);
+        letters.clear();
+        events = 0;
+        return drained;
+    }
+
+    public synchronized int size() {
+        return letters.size();
+    }
+
+    public synchronized int events() {
+        return events;
+    }
+
+    // Events that were pushed out by newer letters.
+    public synchronized long evicted() {
+        return evicted;
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Dictionary.java
+ * <p>
+ * Batch encoding that sends each distinct platform and tag set once and refers to it by index.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/*
+ * Every outcome carries the session's platform and tags, which are the same
+ * objects for a whole session. Encoded, the batch gets a dictionary of the
+ * distinct values,
+ *
+ *   "dictionary": {"platform": [{...}, ...], "tags": [[...], ...]}
+ *
+ * and each event's platform and tags become indexes into it. Values are found
+ * by identity first and by content after, so copies (a replayed journal) still
+ * share an entry. Encoding copies only the events that carry one of them; the
+ * journey itself is left alone, as it is restored if the batch fails.
+ *
+ * The collector has to expand the references, so this is opt in.
+ */
+public final class Dictionary {
+    private static final String[] fields = {"platform", "tags"};
+
+    private static volatile boolean used = false;
+
+    private Dictionary() {
+    }
+
+    public static void use(boolean _used) {
+        used = _used;
+    }
+
+    public static boolean used() {
+        return used;
+    }
+
+    // The encoded journey; the distinct values are put into dictionary.
+    public static JSONArray encode(JSONArray journey, JSONObject dictionary) throws JSONException {
+        final Table[] tables = {new Table(), new Table()};
+        JSONArray encoded = null;
+        for (int i = 0; i < journey.length(); i++) {
+            final Object event = journey.opt(i);
+            final JSONObject copy = event instanceof JSONObject ? carrying((JSONObject) event) : null;
+            if (copy == null) {
+                if (encoded != null) encoded.put(event);
+                continue;
+            }
+            if (encoded == null) encoded = head(journey, i);
+            for (int field = 0; field < fields.length; field++) {
+                final Object value = copy.opt(fields[field]);
+                if (value != null) copy.put(fields[field], tables[field].index(value));
+            }
+            encoded.put(copy);
+        }
+        if (encoded == null) return journey;
+        for (int field = 0; field < fields.length; field++) {
+            if (tables[field].values.length() > 0) dictionary.put(fields[field], tables[field].values);
+        }
+        return encoded;
+    }
+
+    // Puts the dictionary values back in place of the indexes, in the journey itself.
+    public static JSONArray expand(JSONArray journey, JSONObject dictionary) throws JSONException {
+        for (int i = 0; i < journey.length(); i++) {
+            final Object event = journey.opt(i);
+            if (!(event instanceof JSONObject)) continue;
+            for (String field : fields) {
+                final Object index = ((JSONObject) event).opt(field);
+                if (index instanceof Number) {
+                    ((JSONObject) event).put(field, dictionary.getJSONArray(field).get(((Number) index).intValue()));
+                }
+            }
+        }
+        return journey;
+    }
+
+    // A copy of the event to encode, or null when it carries neither value.
+    private static JSONObject carrying(JSONObject event) throws JSONException {
+        if (event instanceof Template.Json) {
+            final JSONObject copy = copy(event);
+            return carries(copy) ? copy : null;
+        }
+        return carries(event) ? copy(event) : null;
+    }
+
+    private static boolean carries(JSONObject event) {
+        return event.has("platform") || event.has("tags");
+    }
+
+    private static JSONArray head(JSONArray journey, int end) {
+        JSONArray head = new JSONArray();
+        for (int i = 0; i < end; i++) head.put(journey.opt(i));
+        return head;
+    }
+
+    // Stock events stay templated; one still held by its event is copied without filling it in.
+    private static JSONObject copy(JSONObject event) throws JSONException {
+        if (event instanceof Template.Json) {
+            final JSONObject copy = ((Template.Json) event).template().toJson();
+            ((Template.Json) event).fields(copy, JSONObject::put);
+            return copy;
+        }
+        final JSONObject copy = new JSONObject();
+        for (Iterator<String> keys = event.keys(); keys.hasNext(); ) {
+            String key = keys.next();
+            copy.put(key, event.opt(key));
+        }
+        return copy;
+    }
+
+    private static class Table {
+        final JSONArray values = new JSONArray();
+        final Map<Object, Integer> known = new IdentityHashMap<>();
+
+        int index(Object value) {
+            Integer index = known.get(value);
+            if (index != null) return index;
+            for (int i = 0; i < values.length() && index == null; i++) {
+                if (same(values.opt(i), value)) index = i;
+            }
+            if (index == null) {
+                index = values.length();
+                values.put(value);
+            }
+            known.put(value, index);
+            return index;
+        }
+
+        private static boolean same(Object entry, Object value) {
+            if (entry instanceof JSONObject) return ((JSONObject) entry).similar(value);
+            if (entry instanceof JSONArray) return ((JSONArray) entry).similar(value);
+            return entry.equals(value);
+        }
+    }
+}
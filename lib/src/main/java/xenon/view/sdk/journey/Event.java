@@ -0,0 +1,57 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Event.java
+ * <p>
+ * Compact typed journey event; turned into JSON only when a batch is serialized.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public abstract class Event {
+    // Puts an event's fields into something one by one; a null value is a field the event does not have.
+    public interface Fields<T, E extends Exception> {
+        void put(T into, String key, Object value) throws E;
+    }
+
+    double timestamp;
+
+    // Seconds since the epoch, as the journey reports it.
+    public Event at(double _timestamp) {
+        timestamp = _timestamp;
+        return this;
+    }
+
+    public double timestamp() {
+        return timestamp;
+    }
+
+    public abstract int fingerprint();
+
+    public abstract boolean isDuplicateOf(Event last);
+
+    // Rough heap retained by the event, used to cap a journey buffer.
+    public abstract int estimatedBytes();
+
+    // Keys are put in the order the stock events have always used.
+    public abstract JSONObject toJson(int count) throws JSONException;
+
+    public JSONObject toJson() throws JSONException {
+        return toJson(1);
+    }
+
+    static int size(String field) {
+        return field == null ? 0 : 40 + 2 * field.length();
+    }
+
+    // Everything but the constant fields, with no JSONObject in between.
+    <T, E extends Exception> void fields(int count, T into, Fields<T, E> put) throws E {
+        variable(into, put);
+        put.put(into, "timestamp", timestamp);
+        if (count > 1) put.put(into, "count", count);
+    }
+
+    abstract <T, E extends Exception> void variable(T into, Fields<T, E> put) throws E;
+}
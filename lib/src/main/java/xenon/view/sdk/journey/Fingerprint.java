@@ -0,0 +1,66 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Fingerprint.java
+ * <p>
+ * Precomputed identity hash of a journey event used to collapse duplicates without allocating.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+/*
+ * The fingerprint only mixes fields that must be equal for two events to be
+ * duplicates: category and action always, the name for everything but Content
+ * and the details for milestones. Content treats type, identifier and details
+ * as wildcards when either side lacks them, so those are left to confirms().
+ * Different fingerprints therefore always mean "not a duplicate"; equal ones
+ * are confirmed with the full rules.
+ */
+public final class Fingerprint {
+    private Fingerprint() {
+    }
+
+    public static int of(JSONObject event) {
+        final Object category = event.opt("category");
+        if ("Content".equals(category)) return of(category, event.opt("action"), null, null);
+        if ("Feature".equals(category)) return of(category, event.opt("action"), event.opt("name"), null);
+        return of(category, event.opt("action"), event.opt("name"), event.opt("details"));
+    }
+
+    public static int of(Object category, Object action, Object name, Object details) {
+        return hash(hash(hash(hash(0, category), action), name), details);
+    }
+
+    // Same rules Xenon has always applied, without building key sets.
+    public static boolean confirms(JSONObject last, JSONObject content) throws JSONException {
+        for (Iterator<String> keys = content.keys(); keys.hasNext(); ) {
+            if (!last.has(keys.next())) return false;
+        }
+        if (!content.has("category") || !last.has("category")) return false;
+        if (!content.get("category").equals(last.get("category"))) return false;
+        if (!content.has("action") || !last.has("action")) return false;
+        if (!content.get("action").equals(last.get("action"))) return false;
+        final Object category = content.get("category");
+        if ("Feature".equals(category)) return content.get("name").equals(last.get("name"));
+        if ("Content".equals(category)) return sameContent(last, content);
+        if (!content.get("name").equals(last.get("name"))) return false;
+        return content.get("details").equals(last.get("details"));
+    }
+
+    private static boolean sameContent(JSONObject last, JSONObject content) throws JSONException {
+        if (!content.has("type") || !last.has("type")) return true;
+        if (!content.get("type").equals(last.get("type"))) return false;
+        if (!content.has("identifier") || !last.has("identifier")) return true;
+        if (!content.get("identifier").equals(last.get("identifier"))) return false;
+        if (!content.has("details") || !last.has("details")) return true;
+        return content.get("details").equals(last.get("details"));
+    }
+
+    private static int hash(int hash, Object field) {
+        return 31 * hash + (field == null ? 0 : field.hashCode());
+    }
+}
@@ -0,0 +1,352 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Journal.java
+ * <p>
+ * Memory-mapped write-ahead journal of buffered events, replayed after a crash.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/*
+ * Frames are [length][crc32 of body][body] and a zero length ends the journal,
+ * so a frame torn by a crash fails its CRC and ends replay there. A body is an
+ * EVENT (epoch + binary event) or a COMMIT (epoch). Every chain a JourneyBuffer
+ * swaps in has its own epoch; once a drained batch is accepted, the epochs it
+ * covered are committed and their events are no longer replayed.
+ *
+ * When the map is full, uncommitted frames are compacted into a sibling file
+ * that is then moved over the journal, so a crash while compacting leaves
+ * either the old journal or the compacted one, never a torn mix. Writes reach
+ * the page cache, so they survive the process being killed; call sync() to
+ * also survive the machine going down.
+ */
+public class Journal implements Closeable {
+    public static final int defaultCapacity = 8 * 1024 * 1024;
+
+    private static final Charset utf8 = Charset.forName("UTF-8");
+    private static final byte EVENT = 1;
+    private static final byte COMMIT = 2;
+    private static final byte MILESTONE = 1;
+    private static final byte OUTCOME = 2;
+    private static final int HEADER = 8;
+
+    private final File path;
+    private final File compacted;
+    private RandomAccessFile file;
+    private MappedByteBuffer map;
+    private final CRC32 crc = new CRC32();
+    private byte[] scratch = new byte[512];
+    private int position = 0;
+    private long lastEpoch = 0;
+    private long overflows = 0;
+    private final List<Event> replay = new ArrayList<>();
+    private final Set<Long> replayEpochs = new HashSet<>();
+
+    public Journal(File path) throws IOException {
+        this(path, defaultCapacity);
+    }
+
+    public Journal(File _path, int capacity) throws IOException {
+        path = _path;
+        compacted = new File(path.getPath() + ".compact");
+        // left by a crash before it was moved into place; the journal is whole
+        compacted.delete();
+        file = new RandomAccessFile(path, "rw");
+        if (file.length() < capacity) file.setLength(capacity);
+        map = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        recover();
+    }
+
+    public synchronized void append(long epoch, Event event) {
+        int length = 0;
+        scratch[length++] = EVENT;
+        length = putLong(length, epoch);
+        length = encode(length, event);
+        write(length);
+    }
+
+    public synchronized void commit(Iterable<Long> epochs) {
+        for (Long epoch : epochs) {
+            int length = 0;
+            scratch[length++] = COMMIT;
+            write(putLong(length, epoch));
+        }
+    }
+
+    // Epochs handed out after a restart never collide with those in the file.
+    public synchronized long lastEpoch() {
+        return lastEpoch;
+    }
+
+    // Uncommitted events found when the journal was opened, in order.
+    synchronized List<Event> replay() {
+        return new ArrayList<>(replay);
+    }
+
+    synchronized Set<Long> replayEpochs() {
+        return new HashSet<>(replayEpochs);
+    }
+
+    // Events that were not journaled because even a compacted journal was full.
+    public synchronized long overflows() {
+        return overflows;
+    }
+
+    public synchronized int size() {
+        return position;
+    }
+
+    public synchronized void sync() {
+        map.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        map.force();
+        file.close();
+    }
+
+    private void write(int length) {
+        if (position + HEADER + length > map.capacity() && (compact() + HEADER + length > map.capacity())) {
+            overflows++;
+            return;
+        }
+        crc.reset();
+        crc.update(scratch, 0, length);
+        map.putInt(position, length);
+        map.putInt(position + 4, (int) crc.getValue());
+        map.position(position + HEADER);
+        map.put(scratch, 0, length);
+        position += HEADER + length;
+        terminate();
+    }
+
+    private void terminate() {
+        if (position + 4 <= map.capacity()) map.putInt(position, 0);
+    }
+
+    private void recover() {
+        Set<Long> committed = new HashSet<>();
+        List<Long> epochs = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        position = scan((type, epoch, body) -> {
+            lastEpoch = Math.max(lastEpoch, epoch);
+            if (type == COMMIT) {
+                committed.add(epoch);
+            } else {
+                epochs.add(epoch);
+                events.add(decode(body));
+            }
+        });
+        for (int i = 0; i < events.size(); i++) {
+            if (committed.contains(epochs.get(i))) continue;
+            replay.add(events.get(i));
+            replayEpochs.add(epochs.get(i));
+        }
+        terminate();
+    }
+
+    // Copies the uncommitted events into the sibling file, which replaces the
+    // journal only once it is complete. The sibling's mapping stays valid
+    // across the move, so it simply becomes the journal's. When the copy
+    // cannot be made the journal is left as it is.
+    private int compact() {
+        Set<Long> committed = new HashSet<>();
+        scan((type, epoch, body) -> {
+            if (type == COMMIT) committed.add(epoch);
+        });
+        final int capacity = map.capacity();
+        RandomAccessFile next = null;
+        try {
+            next = new RandomAccessFile(compacted, "rw");
+            next.setLength(capacity);
+            MappedByteBuffer nextMap = next.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            int read = 0;
+            int kept = 0;
+            while (read < position) {
+                int length = map.getInt(read);
+                byte type = map.get(read + HEADER);
+                long epoch = map.getLong(read + HEADER + 1);
+                int frame = HEADER + length;
+                if (type == EVENT && !committed.contains(epoch)) {
+                    for (int i = 0; i < frame; i++) nextMap.put(kept + i, map.get(read + i));
+                    kept += frame;
+                }
+                read += frame;
+            }
+            if (kept + 4 <= capacity) nextMap.putInt(kept, 0);
+            nextMap.force();
+            Files.move(compacted.toPath(), path.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            RandomAccessFile old = file;
+            file = next;
+            map = nextMap;
+            position = kept;
+            next = null;
+            old.close();
+        } catch (IOException err) {
+            // kept as it was; what does not fit is counted as an overflow
+        } finally {
+            if (next != null) {
+                try {
+                    next.close();
+                } catch (IOException ignore) {
+                    // nothing was moved
+                }
+                compacted.delete();
+            }
+        }
+        return position;
+    }
+
+    private interface Frames {
+        void frame(byte type, long epoch, ByteBuffer body);
+    }
+
+    // Returns where the valid frames end.
+    private int scan(Frames frames) {
+        int at = 0;
+        byte[] body = new byte[0];
+        while (at + HEADER <= map.capacity()) {
+            int length = map.getInt(at);
+            if (length <= 0 || at + HEADER + length > map.capacity()) break;
+            if (body.length < length) body = new byte[length];
+            map.position(at + HEADER);
+            map.get(body, 0, length);
+            crc.reset();
+            crc.update(body, 0, length);
+            if ((int) crc.getValue() != map.getInt(at + 4)) break;
+            ByteBuffer frame = ByteBuffer.wrap(body, 0, length);
+            try {
+                byte type = frame.get();
+                frames.frame(type, frame.getLong(), frame);
+            } catch (BufferUnderflowException err) {
+                break;
+            }
+            at += HEADER + length;
+        }
+        return at;
+    }
+
+    private int encode(int at, Event event) {
+        at = putLong(at, Double.doubleToRawLongBits(event.timestamp));
+        if (event instanceof Milestone) {
+            Milestone milestone = (Milestone) event;
+            scratch[at++] = MILESTONE;
+            at = putString(at, milestone.category);
+            at = putString(at, milestone.action);
+            at = putString(at, milestone.name);
+            at = putString(at, milestone.type);
+            at = putString(at, milestone.identifier);
+            return putString(at, milestone.details);
+        }
+        Outcome outcome = (Outcome) event;
+        scratch[at++] = OUTCOME;
+        at = putString(at, outcome.superOutcome);
+        at = putString(at, outcome.outcome);
+        at = putString(at, outcome.result);
+        at = putString(at, outcome.method);
+        at = putString(at, outcome.term);
+        at = putString(at, outcome.price);
+        at = putString(at, outcome.details);
+        at = putString(at, outcome.platform == null ? null : outcome.platform.toString());
+        return putString(at, outcome.tags == null ? null : outcome.tags.toString());
+    }
+
+    private static Event decode(ByteBuffer body) {
+        double timestamp = Double.longBitsToDouble(body.getLong());
+        if (body.get() == MILESTONE) {
+            Milestone milestone = new Milestone(getString(body), getString(body))
+                    .name(getString(body))
+                    .type(getString(body))
+                    .identifier(getString(body))
+                    .details(getString(body));
+            milestone.at(timestamp);
+            return milestone;
+        }
+        Outcome outcome = new Outcome(getString(body), getString(body), getString(body))
+                .method(getString(body))
+                .term(getString(body))
+                .price(getString(body))
+                .details(getString(body));
+        String platform = getString(body);
+        String tags = getString(body);
+        if (platform != null) outcome.platform(new JSONObject(platform));
+        if (tags != null) outcome.tags(new JSONArray(tags));
+        outcome.at(timestamp);
+        return outcome;
+    }
+
+    private int putLong(int at, long value) {
+        ensure(at + 8);
+        for (int shift = 56; shift >= 0; shift -= 8) scratch[at++] = (byte) (value >>> shift);
+        return at;
+    }
+
+    // Length prefixed UTF-8, -1 for null; ASCII is copied without an encoder.
+    private int putString(int at, String value) {
+        if (value == null) {
+            ensure(at + 4);
+            return putInt(at, -1);
+        }
+        final int chars = value.length();
+        ensure(at + 4 + 3 * chars);
+        final int start = at + 4;
+        int end = start;
+        for (int i = 0; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                byte[] encoded = value.getBytes(utf8);
+                System.arraycopy(encoded, 0, scratch, start, encoded.length);
+                end = start + encoded.length;
+                break;
+            }
+            scratch[end++] = (byte) c;
+        }
+        putInt(at, end - start);
+        return end;
+    }
+
+    private int putInt(int at, int value) {
+        scratch[at] = (byte) (value >>> 24);
+        scratch[at + 1] = (byte) (value >>> 16);
+        scratch[at + 2] = (byte) (value >>> 8);
+        scratch[at + 3] = (byte) value;
+        return at + 4;
+    }
+
+    private static String getString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) return null;
+        String value = new String(body.array(), body.arrayOffset() + body.position(), length, utf8);
+        body.position(body.position() + length);
+        return value;
+    }
+
+    private void ensure(int size) {
+        if (size <= scratch.length) return;
+        byte[] larger = new byte[Math.max(size, scratch.length * 2)];
+        System.arraycopy(scratch, 0, larger, 0, scratch.length);
+        scratch = larger;
+    }
+}
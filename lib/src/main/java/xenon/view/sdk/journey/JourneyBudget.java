@@ -0,0 +1,40 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JourneyBudget.java
+ * <p>
+ * Cap on events and estimated bytes shared by many journey buffers.
+ **/
+package xenon.view.sdk.journey;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JourneyBudget {
+    final int maxEvents;
+    final long maxBytes;
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public JourneyBudget(int _maxEvents, long _maxBytes) {
+        maxEvents = _maxEvents;
+        maxBytes = _maxBytes;
+    }
+
+    public int events() {
+        return events.get();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    boolean full(int moreEvents, long moreBytes) {
+        return events.get() + moreEvents > maxEvents || bytes.get() + moreBytes > maxBytes;
+    }
+
+    void account(int moreEvents, long moreBytes) {
+        events.addAndGet(moreEvents);
+        bytes.addAndGet(moreBytes);
+    }
+}
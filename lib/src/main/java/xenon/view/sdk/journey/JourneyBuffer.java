@@ -0,0 +1,471 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JourneyBuffer.java
+ * <p>
+ * Lock-free multi-producer journey buffer that collapses consecutive duplicates into a count.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Producers append to a singly linked chain with CAS on the tail's next pointer.
+ * A duplicate of the tail bumps the tail's count instead; the Fingerprint is
+ * computed once per event and kept on the node, so only events with the same
+ * identity reach the full duplicate check. Every node carries a SEALED bit which
+ * is set before anything is linked after it (or the chain is closed), so a
+ * count can never be added to an event that is no longer last.
+ *
+ * The consumer side (drain, restore, snapshot and making room) is serialized on
+ * the buffer. To take the events it swaps in a fresh chain and closes the old
+ * one by linking CLOSED after its tail; producers that lose that race retry on
+ * the new chain. That swap is all a drain does under the lock: the closed chain
+ * can no longer change, so it is turned into JSON afterwards while producers
+ * carry on in the fresh one. Dropping the oldest event moves the head forward; dropping one
+ * further in unlinks it, which is safe because only a null next is ever CASed.
+ *
+ * Events restored ahead of the live chain are kept as Segments: a batch that
+ * failed to send is linked back in front as it is, and the buffer remembers
+ * what each drained batch accounted for, so a restore is O(1) however often
+ * the same batch fails.
+ *
+ * With a Journal each chain gets an epoch and events are journaled after they
+ * are linked. A drained batch remembers the epochs it covers (its chain plus
+ * anything restored, spilled or replayed into it) until it is committed.
+ */
+public class JourneyBuffer {
+    public interface Flusher {
+        void flush();
+    }
+
+    private static final int SEALED = 1 << 30;
+    private static final Node CLOSED = new Node(null, 0, 0);
+    private static final int maxOutstanding = 64;
+
+    private static class Node {
+        final Event event;
+        final int fingerprint;
+        final int bytes;
+        final AtomicInteger state = new AtomicInteger(1);
+        final AtomicReference<Node> next = new AtomicReference<>(null);
+
+        Node(Event _event, int _fingerprint, int _bytes) {
+            event = _event;
+            fingerprint = _fingerprint;
+            bytes = _bytes;
+        }
+
+        boolean increment() {
+            for (; ; ) {
+                int current = state.get();
+                if ((current & SEALED) != 0) return false;
+                if (state.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        void seal() {
+            for (; ; ) {
+                int current = state.get();
+                if ((current & SEALED) != 0) return;
+                if (state.compareAndSet(current, current | SEALED)) return;
+            }
+        }
+
+        int count() {
+            return state.get() & ~SEALED;
+        }
+    }
+
+    // What a drained batch took out of the buffer, until it is committed or restored.
+    private static class Drained {
+        final long bytes;
+        final Set<Long> epochs;
+
+        Drained(long _bytes, Set<Long> _epochs) {
+            bytes = _bytes;
+            epochs = _epochs;
+        }
+    }
+
+    private static class Chain {
+        // journal epoch of the events linked into this chain
+        final long epoch;
+        // moved forward by the consumer when the oldest event is dropped
+        volatile Node head = new Node(null, 0, 0);
+        // only ever moved forward, so a stalled producer cannot drag it back
+        final AtomicReference<Node> tailHint = new AtomicReference<>(head);
+        // events restored ahead of the live chain; only touched by the consumer
+        volatile Segments prefix = new Segments();
+
+        Chain(long _epoch) {
+            epoch = _epoch;
+        }
+
+        // null once the chain has been closed by the consumer
+        Node tail() {
+            Node hint = tailHint.get();
+            Node tail = hint;
+            for (Node next; (next = tail.next.get()) != null; tail = next) {
+                if (next == CLOSED) return null;
+            }
+            if (tail != hint) tailHint.compareAndSet(hint, tail);
+            return tail;
+        }
+    }
+
+    private final AtomicLong epochs = new AtomicLong();
+    private final AtomicReference<Chain> current;
+    private final JourneyLimits limits;
+    private final Journal journal;
+    // epochs of restored, spilled or replayed events waiting for the next drain
+    private final Set<Long> pending = new HashSet<>();
+    private final Map<JSONArray, Drained> outstanding = new IdentityHashMap<>();
+    private final Spill spill;
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final AtomicLong adds = new AtomicLong();
+    private volatile Flusher flusher = () -> {
+    };
+
+    public JourneyBuffer() {
+        this(JourneyLimits.defaults());
+    }
+
+    public JourneyBuffer(JourneyLimits _limits) {
+        this(_limits, null);
+    }
+
+    // Journals every event and starts with whatever the journal left uncommitted.
+    public JourneyBuffer(JourneyLimits _limits, Journal _journal) {
+        limits = _limits;
+        journal = _journal;
+        spill = limits.spillDirectory == null ? null : new Spill(limits.spillDirectory);
+        if (journal != null) epochs.set(journal.lastEpoch());
+        current = new AtomicReference<>(new Chain(epochs.incrementAndGet()));
+        if (journal != null) replay(journal);
+    }
+
+    // Called by FORCE_FLUSH when the cap is hit; expected to drain the buffer.
+    public void flushWith(Flusher _flusher) {
+        flusher = _flusher;
+    }
+
+    public void add(Event event) {
+        adds.incrementAndGet();
+        final int fingerprint = event.fingerprint();
+        final int size = event.estimatedBytes();
+        Node node = null;
+        for (; ; ) {
+            Chain chain = current.get();
+            Node tail = chain.tail();
+            if (tail == null) continue;
+            if (tail != chain.head && tail.fingerprint == fingerprint && event.isDuplicateOf(tail.event)) {
+                if (!tail.increment()) continue;
+                if (journal != null) journal.append(chain.epoch, event);
+                return;
+            }
+            if (node == null) {
+                if (full(1, size) && !makeRoom(size)) {
+                    limits.metrics.droppedNewest.incrementAndGet();
+                    return;
+                }
+                node = new Node(event, fingerprint, size);
+            }
+            tail.seal();
+            if (tail.next.compareAndSet(null, node)) {
+                chain.tailHint.compareAndSet(tail, node);
+                account(1, size);
+                if (journal != null) journal.append(chain.epoch, event);
+                return;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        Chain chain = current.get();
+        return chain.prefix.isEmpty() && chain.head.next.get() == null && (spill == null || spill.isEmpty());
+    }
+
+    // Buffered entries (a collapsed run counts once) and their estimated heap.
+    public int events() {
+        return events.get();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    // Every event ever added, collapsed or not; lets a watcher tell when the journey last moved.
+    public long adds() {
+        return adds.get();
+    }
+
+    public synchronized JSONArray snapshot() {
+        Chain chain = current.get();
+        JSONArray events = chain.prefix.writeTo(unspill(new JSONArray(), false));
+        for (Node node = chain.head.next.get(); node != null && node != CLOSED; node = node.next.get()) {
+            events.put(materialize(node));
+        }
+        return events;
+    }
+
+    // Only the swap happens under the lock; the closed chain belongs to the
+    // caller alone and is turned into JSON without holding anyone up.
+    public JSONArray drain() {
+        final Chain old;
+        final Segments events;
+        Set<Long> covered = null;
+        synchronized (this) {
+            old = current.getAndSet(new Chain(epochs.incrementAndGet()));
+            flushRequested.set(false);
+            seal(old);
+            account(-old.prefix.length(), -old.prefix.bytes());
+            events = unspill(true).addAll(old.prefix);
+            if (journal != null) {
+                pending.add(old.epoch);
+                covered = new HashSet<>(pending);
+                pending.clear();
+            }
+        }
+        Segments linked = materialize(old);
+        account(-linked.length(), -linked.bytes());
+        JSONArray batch = events.addAll(linked).toArray();
+        synchronized (this) {
+            // batches that are never committed or restored only lose their byte count
+            if (journal == null && outstanding.size() >= maxOutstanding) outstanding.clear();
+            outstanding.put(batch, new Drained(events.bytes(), covered));
+        }
+        return batch;
+    }
+
+    // The drained batch was accepted; its events are not replayed any more.
+    public synchronized void committed(JSONArray batch) {
+        Drained drained = outstanding.remove(batch);
+        if (journal != null && drained != null) journal.commit(drained.epochs);
+    }
+
+    // A batch that will be neither sent nor restored, like the one an earlier
+    // reset set aside; it is not replayed either.
+    public void discarded(JSONArray batch) {
+        committed(batch);
+    }
+
+    // A batch the collector refused for good is done with as well; it is not restored.
+    public void rejected(JSONArray batch) {
+        committed(batch);
+        limits.metrics.rejected.addAndGet(batch.length());
+    }
+
+    // Puts a batch that failed to send back in front of everything buffered
+    // since, then trims back under the cap. The batch is linked in as it is and
+    // must not be changed afterwards.
+    public synchronized void restore(JSONArray batch) {
+        Chain fresh = new Chain(epochs.incrementAndGet());
+        Chain old = current.getAndSet(fresh);
+        Drained drained = outstanding.remove(batch);
+        if (journal != null) {
+            if (drained != null) pending.addAll(drained.epochs);
+            pending.add(old.epoch);
+        }
+        Segments restored = drained != null ? new Segments().add(batch, true, drained.bytes)
+                : new Segments().add(batch, estimate(batch));
+        account(restored.length(), restored.bytes());
+        Segments spilled = unspill(true);
+        account(spilled.length(), spilled.bytes());
+        fresh.prefix = restored.addAll(spilled).addAll(close(old));
+        trim(0, 0);
+    }
+
+    private void replay(Journal journal) {
+        JourneyBuffer replayed = new JourneyBuffer(JourneyLimits.unbounded());
+        for (Event event : journal.replay()) replayed.add(event);
+        JSONArray events = replayed.drain();
+        Segments prefix = new Segments().add(events, estimate(events));
+        account(prefix.length(), prefix.bytes());
+        current.get().prefix = prefix;
+        pending.addAll(journal.replayEpochs());
+    }
+
+    private boolean full(int moreEvents, long moreBytes) {
+        if (events.get() + moreEvents > limits.maxEvents) return true;
+        if (bytes.get() + moreBytes > limits.maxBytes) return true;
+        return limits.budget != null && limits.budget.full(moreEvents, moreBytes);
+    }
+
+    private boolean makeRoom(int size) {
+        if (limits.overflow == JourneyLimits.Overflow.DROP_NEWEST) return false;
+        if (limits.overflow == JourneyLimits.Overflow.FORCE_FLUSH && flushRequested.compareAndSet(false, true)) {
+            limits.metrics.forcedFlushes.incrementAndGet();
+            flusher.flush();
+            return true;
+        }
+        // a forced flush that is still outstanding drops the oldest meanwhile
+        synchronized (this) {
+            return trim(1, size);
+        }
+    }
+
+    private boolean trim(int moreEvents, long moreBytes) {
+        Chain chain = current.get();
+        while (full(moreEvents, moreBytes)) {
+            if (!dropOne(chain)) return false;
+        }
+        return true;
+    }
+
+    private boolean dropOne(Chain chain) {
+        switch (limits.overflow) {
+            case DROP_NEWEST:
+                if (chain.prefix.isEmpty()) return false;
+                account(-1, -chain.prefix.dropLast());
+                limits.metrics.droppedNewest.incrementAndGet();
+                return true;
+            case DROP_MILESTONES_FIRST:
+                if (dropMilestone(chain)) {
+                    limits.metrics.droppedMilestones.incrementAndGet();
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        Object oldest = removeOldest(chain);
+        if (oldest == null) return false;
+        if (limits.overflow == JourneyLimits.Overflow.SPILL_TO_DISK && spill != null && oldest instanceof JSONObject) {
+            try {
+                spill.write((JSONObject) oldest);
+                limits.metrics.spilled.incrementAndGet();
+                return true;
+            } catch (IOException ignore) {
+                // counted as dropped below
+            }
+        }
+        limits.metrics.droppedOldest.incrementAndGet();
+        return true;
+    }
+
+    private Object removeOldest(Chain chain) {
+        if (!chain.prefix.isEmpty()) {
+            Object oldest = chain.prefix.first();
+            account(-1, -chain.prefix.dropFirst());
+            return oldest;
+        }
+        Node first = chain.head.next.get();
+        if (first == null || first == CLOSED) return null;
+        // sealed first so a producer cannot count into it once it is gone
+        first.seal();
+        chain.head = first;
+        account(-1, -first.bytes);
+        return materialize(first);
+    }
+
+    private boolean dropMilestone(Chain chain) {
+        final long dropped = chain.prefix.dropFirstMilestone();
+        if (dropped >= 0) {
+            account(-1, -dropped);
+            return true;
+        }
+        Node previous = chain.head;
+        for (Node node = previous.next.get(); node != null && node != CLOSED; previous = node, node = node.next.get()) {
+            if (!(node.event instanceof Milestone)) continue;
+            node.seal();
+            if (previous == chain.head) {
+                chain.head = node;
+            } else {
+                Node next = node.next.get();
+                // the tail cannot be unlinked while producers may link after it
+                if (next == null) return false;
+                previous.next.set(next);
+            }
+            account(-1, -node.bytes);
+            return true;
+        }
+        return false;
+    }
+
+    // Everything the chain held, still accounted for.
+    private Segments close(Chain chain) {
+        seal(chain);
+        return chain.prefix.addAll(materialize(chain));
+    }
+
+    // Once CLOSED is linked no producer can change the chain any more.
+    private static void seal(Chain chain) {
+        for (; ; ) {
+            Node tail = chain.tail();
+            if (tail == null) return;
+            tail.seal();
+            if (tail.next.compareAndSet(null, CLOSED)) return;
+        }
+    }
+
+    private static Segments materialize(Chain closed) {
+        JSONArray events = new JSONArray();
+        long eventBytes = 0;
+        for (Node node = closed.head.next.get(); node != CLOSED; node = node.next.get()) {
+            eventBytes += node.bytes;
+            events.put(materialize(node));
+        }
+        return new Segments().add(events, eventBytes);
+    }
+
+    // Spilled events are the oldest ones, so they go first.
+    private JSONArray unspill(JSONArray into, boolean clear) {
+        if (spill == null || spill.isEmpty()) return into;
+        try {
+            spill.readInto(into);
+        } catch (IOException ignore) {
+            // the spill file is gone; nothing left to hand out
+        }
+        if (clear) spill.clear();
+        return into;
+    }
+
+    // Takes the spilled events out as a segment; they are not accounted for.
+    private Segments unspill(boolean clear) {
+        JSONArray events = unspill(new JSONArray(), clear);
+        return new Segments().add(events, estimate(events));
+    }
+
+    private void account(int moreEvents, long moreBytes) {
+        events.addAndGet(moreEvents);
+        bytes.addAndGet(moreBytes);
+        if (limits.budget != null) limits.budget.account(moreEvents, moreBytes);
+    }
+
+    private static long estimate(JSONArray events) {
+        long size = 0;
+        for (int i = 0; i < events.length(); i++) size += estimate(events.opt(i));
+        return size;
+    }
+
+    static long estimate(Object event) {
+        if (!(event instanceof JSONObject)) return 16;
+        JSONObject json = (JSONObject) event;
+        long size = 64;
+        for (Iterator<String> keys = json.keys(); keys.hasNext(); ) {
+            Object value = json.opt(keys.next());
+            size += 48 + (value instanceof String ? Event.size((String) value) : 16);
+        }
+        return size;
+    }
+
+    // Events stay typed while buffered; JSON is built when a batch is read.
+    private static JSONObject materialize(Node node) {
+        return node.event.toJson(node.count());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JourneyLimits.java
+ * <p>
+ * Per-session cap on a journey buffer and what to do once it is reached.
+ **/
+package xenon.view.sdk.journey;
+
+import java.io.File;
+
+public class JourneyLimits {
+    public enum Overflow {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        DROP_MILESTONES_FIRST,
+        SPILL_TO_DISK,
+        FORCE_FLUSH
+    }
+
+    public static final int defaultMaxEvents = 10000;
+    public static final long defaultMaxBytes = 4L * 1024 * 1024;
+
+    final int maxEvents;
+    final long maxBytes;
+    final Overflow overflow;
+    File spillDirectory;
+    JourneyBudget budget;
+    JourneyMetrics metrics = JourneyMetrics.global();
+
+    public JourneyLimits(int _maxEvents, long _maxBytes, Overflow _overflow) {
+        maxEvents = _maxEvents;
+        maxBytes = _maxBytes;
+        overflow = _overflow;
+    }
+
+    public static JourneyLimits defaults() {
+        return new JourneyLimits(defaultMaxEvents, defaultMaxBytes, Overflow.DROP_OLDEST);
+    }
+
+    public static JourneyLimits unbounded() {
+        return new JourneyLimits(Integer.MAX_VALUE, Long.MAX_VALUE, Overflow.DROP_OLDEST);
+    }
+
+    // Where SPILL_TO_DISK writes; without one spilling falls back to dropping the oldest.
+    public JourneyLimits spillTo(File directory) {
+        spillDirectory = directory;
+        return this;
+    }
+
+    // A cap shared with other sessions, checked in addition to this one.
+    public JourneyLimits within(JourneyBudget _budget) {
+        budget = _budget;
+        return this;
+    }
+
+    public JourneyLimits metrics(JourneyMetrics _metrics) {
+        metrics = _metrics;
+        return this;
+    }
+
+    public Overflow overflow() {
+        return overflow;
+    }
+}
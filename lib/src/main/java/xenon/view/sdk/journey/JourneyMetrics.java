@@ -0,0 +1,55 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JourneyMetrics.java
+ * <p>
+ * Counters for events a bounded journey buffer had to drop, spill or flush early.
+ **/
+package xenon.view.sdk.journey;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JourneyMetrics {
+    private static final JourneyMetrics global = new JourneyMetrics();
+
+    final AtomicLong droppedOldest = new AtomicLong();
+    final AtomicLong droppedNewest = new AtomicLong();
+    final AtomicLong droppedMilestones = new AtomicLong();
+    final AtomicLong spilled = new AtomicLong();
+    final AtomicLong forcedFlushes = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+
+    // Shared by every buffer that is not given its own metrics.
+    public static JourneyMetrics global() {
+        return global;
+    }
+
+    public long droppedOldest() {
+        return droppedOldest.get();
+    }
+
+    public long droppedNewest() {
+        return droppedNewest.get();
+    }
+
+    public long droppedMilestones() {
+        return droppedMilestones.get();
+    }
+
+    public long dropped() {
+        return droppedOldest() + droppedNewest() + droppedMilestones();
+    }
+
+    public long spilled() {
+        return spilled.get();
+    }
+
+    public long forcedFlushes() {
+        return forcedFlushes.get();
+    }
+
+    // Events in batches the collector refused for good.
+    public long rejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Milestone.java
+ * <p>
+ * Feature, Content and custom milestone events.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class Milestone extends Event {
+    final String category;
+    final String action;
+    final Template template;
+    String name;
+    String type;
+    String identifier;
+    String details;
+
+    // Stock categories and actions are literals, so every event shares them.
+    public Milestone(String _category, String _action) {
+        category = _category;
+        action = _action;
+        template = null;
+    }
+
+    // The category and action come from a stock template.
+    public Milestone(Template stock) {
+        category = stock.value("category");
+        action = stock.value("action");
+        template = stock;
+    }
+
+    // Custom milestones repeat a handful of categories and actions; keep one copy.
+    public static Milestone custom(String category, String action) {
+        return new Milestone(intern(category), intern(action));
+    }
+
+    public Milestone name(String _name) {
+        name = _name;
+        return this;
+    }
+
+    public Milestone type(String _type) {
+        type = _type;
+        return this;
+    }
+
+    public Milestone identifier(String _identifier) {
+        identifier = _identifier;
+        return this;
+    }
+
+    public Milestone details(String _details) {
+        details = _details;
+        return this;
+    }
+
+    @Override
+    public int fingerprint() {
+        if ("Content".equals(category)) return Fingerprint.of(category, action, null, null);
+        if ("Feature".equals(category)) return Fingerprint.of(category, action, name, null);
+        return Fingerprint.of(category, action, name, details);
+    }
+
+    // Mirrors Fingerprint.confirms(): every field this event has, the last one has too.
+    @Override
+    public boolean isDuplicateOf(Event other) {
+        if (!(other instanceof Milestone)) return false;
+        final Milestone last = (Milestone) other;
+        if (!covered(name, last.name) || !covered(type, last.type)) return false;
+        if (!covered(identifier, last.identifier) || !covered(details, last.details)) return false;
+        if (category == null || !category.equals(last.category)) return false;
+        if (action == null || !action.equals(last.action)) return false;
+        if ("Feature".equals(category)) return same(name, last.name);
+        if ("Content".equals(category)) return sameContent(last);
+        return same(name, last.name) && same(details, last.details);
+    }
+
+    // Category and action are shared, so only the caller supplied strings count.
+    @Override
+    public int estimatedBytes() {
+        return 40 + size(name) + size(type) + size(identifier) + size(details);
+    }
+
+    @Override
+    public JSONObject toJson(int count) throws JSONException {
+        if (template != null) return template.toJson(this, count);
+        JSONObject json = new JSONObject();
+        json.put("category", category);
+        json.put("action", action);
+        fields(count, json, JSONObject::put);
+        return json;
+    }
+
+    @Override
+    <T, E extends Exception> void variable(T into, Fields<T, E> put) throws E {
+        put.put(into, "name", name);
+        put.put(into, "type", type);
+        put.put(into, "identifier", identifier);
+        put.put(into, "details", details);
+    }
+
+    private boolean sameContent(Milestone last) {
+        if (type == null || last.type == null) return true;
+        if (!type.equals(last.type)) return false;
+        if (identifier == null || last.identifier == null) return true;
+        if (!identifier.equals(last.identifier)) return false;
+        if (details == null || last.details == null) return true;
+        return details.equals(last.details);
+    }
+
+    private static boolean covered(String field, String last) {
+        return field == null || last != null;
+    }
+
+    private static boolean same(String field, String last) {
+        return field == null ? last == null : field.equals(last);
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+}
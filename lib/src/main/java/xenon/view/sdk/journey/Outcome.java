@@ -0,0 +1,108 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Outcome.java
+ * <p>
+ * Business outcome events; outcomes are never collapsed into a count.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class Outcome extends Event {
+    final String superOutcome;
+    final String outcome;
+    final String result;
+    final Template template;
+    String method;
+    String term;
+    String price;
+    String details;
+    JSONObject platform;
+    JSONArray tags;
+
+    public Outcome(String _superOutcome, String _outcome, String _result) {
+        superOutcome = _superOutcome;
+        outcome = _outcome;
+        result = _result;
+        template = null;
+    }
+
+    // The superOutcome and result come from a stock template.
+    public Outcome(Template stock, String _outcome) {
+        superOutcome = stock.value("superOutcome");
+        outcome = _outcome;
+        result = stock.value("result");
+        template = stock;
+    }
+
+    public Outcome method(String _method) {
+        method = _method;
+        return this;
+    }
+
+    public Outcome term(String _term) {
+        term = _term;
+        return this;
+    }
+
+    public Outcome price(String _price) {
+        price = _price;
+        return this;
+    }
+
+    public Outcome details(String _details) {
+        details = _details;
+        return this;
+    }
+
+    // Shared with the session rather than copied, as the journey always has.
+    public Outcome platform(JSONObject _platform) {
+        platform = _platform;
+        return this;
+    }
+
+    public Outcome tags(JSONArray _tags) {
+        tags = _tags;
+        return this;
+    }
+
+    @Override
+    public int fingerprint() {
+        return Fingerprint.of(null, null, null, null);
+    }
+
+    @Override
+    public boolean isDuplicateOf(Event last) {
+        return false;
+    }
+
+    // Platform and tags are shared with the session and not counted.
+    @Override
+    public int estimatedBytes() {
+        return 48 + size(outcome) + size(method) + size(term) + size(price) + size(details);
+    }
+
+    @Override
+    public JSONObject toJson(int count) throws JSONException {
+        if (template != null) return template.toJson(this, count);
+        JSONObject json = new JSONObject();
+        json.put("superOutcome", superOutcome);
+        json.put("result", result);
+        fields(count, json, JSONObject::put);
+        return json;
+    }
+
+    @Override
+    <T, E extends Exception> void variable(T into, Fields<T, E> put) throws E {
+        put.put(into, "outcome", outcome);
+        put.put(into, "method", method);
+        put.put(into, "term", term);
+        put.put(into, "price", price);
+        put.put(into, "details", details);
+        put.put(into, "platform", platform);
+        put.put(into, "tags", tags);
+    }
+}
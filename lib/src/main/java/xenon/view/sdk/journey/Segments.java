@@ -0,0 +1,196 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Segments.java
+ * <p>
+ * Ordered chain of immutable event arrays that is joined and split without copying events.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/*
+ * A segment is a window [start, end) onto a JSONArray that is never written
+ * again once it is segmented, so a batch that failed to send is put back by
+ * linking it in front rather than copying it. Dropping an event only moves a
+ * window edge; dropping one from the middle splits the segment in two.
+ *
+ * A batch the buffer drained itself and got back whole is the one exception:
+ * nobody else holds on to it any more, so the next drain appends the newer
+ * segments to it instead of joining everything into a fresh array.
+ *
+ * Each segment carries the bytes that were accounted for its events; a dropped
+ * event takes its share of them, so the buffer's totals stay exact.
+ *
+ * Only touched under the buffer's consumer lock.
+ */
+class Segments {
+    private static class Segment {
+        final JSONArray events;
+        final boolean ours;
+        int start;
+        int end;
+        long bytes;
+        Segment next;
+
+        Segment(JSONArray _events, boolean _ours, int _start, int _end, long _bytes) {
+            events = _events;
+            ours = _ours;
+            start = _start;
+            end = _end;
+            bytes = _bytes;
+        }
+
+        int length() {
+            return end - start;
+        }
+
+        long share() {
+            return length() == 1 ? bytes : bytes / length();
+        }
+    }
+
+    private Segment head;
+    private Segment tail;
+    private int length = 0;
+    private long bytes = 0;
+
+    int length() {
+        return length;
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    // The array must not be written to afterwards.
+    Segments add(JSONArray events, long eventBytes) {
+        return add(events, false, eventBytes);
+    }
+
+    // Ours when the buffer handed the array out and nobody else keeps it.
+    Segments add(JSONArray events, boolean ours, long eventBytes) {
+        if (events.length() == 0) return this;
+        link(new Segment(events, ours, 0, events.length(), eventBytes));
+        return this;
+    }
+
+    // Moves every segment of other to the end of this one; other is left empty.
+    Segments addAll(Segments other) {
+        if (other.isEmpty()) return this;
+        if (head == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+        }
+        tail = other.tail;
+        length += other.length;
+        bytes += other.bytes;
+        other.head = other.tail = null;
+        other.length = 0;
+        other.bytes = 0;
+        return this;
+    }
+
+    Object first() {
+        return head == null ? null : head.events.opt(head.start);
+    }
+
+    // Each drop returns the bytes that left with the event.
+    long dropFirst() {
+        long share = head.share();
+        head.start++;
+        return dropped(head, share);
+    }
+
+    long dropLast() {
+        long share = tail.share();
+        tail.end--;
+        return dropped(tail, share);
+    }
+
+    // -1 when there is no milestone to drop.
+    long dropFirstMilestone() {
+        for (Segment segment = head; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                Object event = segment.events.opt(i);
+                if (!(event instanceof JSONObject) || !((JSONObject) event).has("category")) continue;
+                long share = segment.share();
+                if (i == segment.start) {
+                    segment.start++;
+                } else if (i == segment.end - 1) {
+                    segment.end--;
+                } else {
+                    split(segment, i, share);
+                }
+                return dropped(segment, share);
+            }
+        }
+        return -1;
+    }
+
+    JSONArray writeTo(JSONArray into) {
+        for (Segment segment = head; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) into.put(segment.events.opt(i));
+        }
+        return into;
+    }
+
+    // A whole first segment is handed back as is, extended with the rest when
+    // it is ours; anything else is joined into a new array.
+    JSONArray toArray() {
+        if (head == null || head.start != 0 || head.end != head.events.length()) return writeTo(new JSONArray());
+        if (head == tail) return head.events;
+        if (!head.ours) return writeTo(new JSONArray());
+        for (Segment segment = head.next; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) head.events.put(segment.events.opt(i));
+        }
+        return head.events;
+    }
+
+    private void link(Segment segment) {
+        if (head == null) {
+            head = segment;
+        } else {
+            tail.next = segment;
+        }
+        tail = segment;
+        length += segment.length();
+        bytes += segment.bytes;
+    }
+
+    // Leaves [start, at) in segment and links (at, end) right after it.
+    private void split(Segment segment, int at, long share) {
+        Segment after = new Segment(segment.events, false, at + 1, segment.end, 0);
+        after.bytes = (segment.bytes - share) * after.length() / (segment.length() - 1);
+        segment.end = at;
+        segment.bytes -= after.bytes;
+        after.next = segment.next;
+        segment.next = after;
+        if (tail == segment) tail = after;
+    }
+
+    private long dropped(Segment segment, long share) {
+        segment.bytes -= share;
+        length--;
+        bytes -= share;
+        if (segment.length() == 0) unlink(segment);
+        return share;
+    }
+
+    private void unlink(Segment segment) {
+        Segment previous = null;
+        for (Segment at = head; at != segment; at = at.next) previous = at;
+        if (previous == null) {
+            head = segment.next;
+        } else {
+            previous.next = segment.next;
+        }
+        if (tail == segment) tail = previous;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Spill.java
+ * <p>
+ * File of the oldest journey events moved out of memory, one JSON object per line.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.UUID;
+
+// Written and cleared under the buffer's consumer lock.
+class Spill {
+    private static final Charset utf8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private volatile int events = 0;
+
+    Spill(File directory) {
+        file = new File(directory, "journey-" + UUID.randomUUID() + ".jsonl");
+    }
+
+    boolean isEmpty() {
+        return events == 0;
+    }
+
+    void write(JSONObject event) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file, true), utf8)) {
+            out.write(event.toString());
+            out.write('\n');
+        }
+        events++;
+    }
+
+    JSONArray readInto(JSONArray into) throws IOException {
+        if (events == 0) return into;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), utf8))) {
+            for (String line; (line = in.readLine()) != null; ) {
+                if (!line.isEmpty()) into.put(new JSONObject(line));
+            }
+        }
+        return into;
+    }
+
+    void clear() {
+        events = 0;
+        file.delete();
+    }
+}
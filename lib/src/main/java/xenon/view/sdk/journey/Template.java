@@ -0,0 +1,215 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * Template.java
+ * <p>
+ * Constant fields of a stock event, encoded to UTF-8 JSON once.
+ **/
+package xenon.view.sdk.journey;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Every stock outcome of one kind carries the same superOutcome and result,
+ * every stock milestone the same category and action. A template holds those
+ * pairs already written as `"key":"value",...` bytes, so a batch copies them
+ * instead of escaping and encoding the same strings for every event. Templates
+ * are meant to be built once and kept in constants.
+ */
+public final class Template {
+    private static final Charset utf8 = Charset.forName("UTF-8");
+
+    private final String[] keys;
+    private final String[] values;
+    private final byte[] json;
+
+    private Template(String... keyValues) {
+        keys = new String[keyValues.length / 2];
+        values = new String[keyValues.length / 2];
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyValues[2 * i];
+            values[i] = keyValues[2 * i + 1];
+            if (i > 0) fields.append(',');
+            fields.append(JSONObject.quote(keys[i])).append(':').append(JSONObject.quote(values[i]));
+        }
+        json = fields.toString().getBytes(utf8);
+    }
+
+    public static Template outcome(String superOutcome, String result) {
+        return new Template("superOutcome", superOutcome, "result", result);
+    }
+
+    public static Template milestone(String category, String action) {
+        return new Template("category", category, "action", action);
+    }
+
+    // The constant fields as JSON members, without braces. Must not be changed.
+    public byte[] json() {
+        return json;
+    }
+
+    public boolean covers(String key) {
+        for (String constant : keys) {
+            if (constant.equals(key)) return true;
+        }
+        return false;
+    }
+
+    String value(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) return values[i];
+        }
+        return null;
+    }
+
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new Json(this, null, 0);
+        for (int i = 0; i < keys.length; i++) json.put(keys[i], values[i]);
+        return json;
+    }
+
+    // The event's JSON, left to the event until something reads it as a JSONObject.
+    JSONObject toJson(Event event, int count) {
+        return new Json(this, event, count);
+    }
+
+    /*
+     * A stock event in a drained batch. It stays empty, holding only the event
+     * and its count, while the batch is just being sent: a body writes the
+     * template's bytes and then takes the rest from fields(), straight from the
+     * typed event; dictionary encoding copies it the same way. The first use of
+     * it as a JSONObject (a dead letter, the journal, a restored batch being
+     * measured) puts all its fields in and it is an ordinary JSONObject from
+     * then on.
+     */
+    public static class Json extends JSONObject {
+        private final Template template;
+        private volatile Event event;
+        private final int count;
+
+        Json(Template _template, Event _event, int _count) {
+            template = _template;
+            event = _event;
+            count = _count;
+        }
+
+        public Template template() {
+            return template;
+        }
+
+        // The fields the template does not hold, in the order the event puts them.
+        public <T, E extends Exception> void fields(T into, Event.Fields<T, E> put) throws E {
+            final Event unread = event;
+            if (unread != null) {
+                unread.fields(count, into, put);
+                return;
+            }
+            for (String key : super.keySet()) {
+                if (!template.covers(key)) put.put(into, key, super.opt(key));
+            }
+        }
+
+        private void fill() {
+            if (event != null) fillOnce();
+        }
+
+        private synchronized void fillOnce() {
+            if (event == null) return;
+            for (int i = 0; i < template.keys.length; i++) super.put(template.keys[i], template.values[i]);
+            event.fields(count, this, (json, key, value) -> {
+                if (value != null) json.putFilled(key, value);
+            });
+            event = null;
+        }
+
+        private void putFilled(String key, Object value) {
+            super.put(key, value);
+        }
+
+        @Override
+        public Object opt(String key) {
+            fill();
+            return super.opt(key);
+        }
+
+        @Override
+        public boolean has(String key) {
+            fill();
+            return super.has(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            fill();
+            return super.keySet();
+        }
+
+        @Override
+        protected Set<Map.Entry<String, Object>> entrySet() {
+            fill();
+            return super.entrySet();
+        }
+
+        @Override
+        public int length() {
+            fill();
+            return super.length();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            fill();
+            return super.isEmpty();
+        }
+
+        @Override
+        public JSONArray names() {
+            fill();
+            return super.names();
+        }
+
+        @Override
+        public JSONObject put(String key, Object value) throws JSONException {
+            fill();
+            return super.put(key, value);
+        }
+
+        @Override
+        public Object remove(String key) {
+            fill();
+            return super.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            fill();
+            super.clear();
+        }
+
+        @Override
+        public boolean similar(Object other) {
+            fill();
+            return super.similar(other);
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            fill();
+            return super.toMap();
+        }
+
+        @Override
+        public Writer write(Writer writer, int indentFactor, int indent) throws JSONException {
+            fill();
+            return super.write(writer, indentFactor, indent);
+        }
+    }
+}
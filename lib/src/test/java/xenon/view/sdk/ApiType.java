@@ -0,0 +1,17 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * ApiType.java
+ * <p>
+ * Concrete Api for the specs to mock.
+ */
+package xenon.view.sdk;
+
+import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.fetch.Fetchable;
+
+class ApiType implements Api<Fetchable> {
+    public Fetchable instance(String _apiUrl) {
+        return null;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CommitCoalescerTest.js
+ * <p>
+ * Testing: At most one commit request per session in flight, and one queued that every later commit joins.
+ */
+package xenon.view.sdk;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import xenon.view.sdk.api.fetch.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CommitCoalescerTest {
+    {
+        Describe("CommitCoalescer", () -> {
+            final List<Boolean> sends = new ArrayList<>();
+            final List<CompletableFuture<Json>> requests = new ArrayList<>();
+            final CommitCoalescer.Send send = (discard) -> {
+                sends.add(discard);
+                CompletableFuture<Json> request = new CompletableFuture<>();
+                requests.add(request);
+                return request;
+            };
+            AtomicReference<CommitCoalescer> unit = new AtomicReference<>(null);
+            AtomicReference<CompletableFuture<Json>> first = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                sends.clear();
+                requests.clear();
+                unit.set(new CommitCoalescer());
+                first.set(unit.get().commit(false, send));
+            });
+            It("sends the first commit at once", () -> {
+                assertEquals(1, sends.size());
+                assertSame(requests.get(0), first.get());
+                assertTrue(unit.get().inFlight());
+            });
+            Describe("when commits arrive while one is in flight", () -> {
+                AtomicReference<CompletableFuture<Json>> second = new AtomicReference<>(null);
+                AtomicReference<CompletableFuture<Json>> third = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    second.set(unit.get().commit(true, send));
+                    third.set(unit.get().commit(false, send));
+                });
+                It("then they join one queued commit", () -> {
+                    assertEquals(1, sends.size());
+                    assertSame(second.get(), third.get());
+                    assertFalse(second.get().isDone());
+                    assertEquals(2, unit.get().coalesced());
+                });
+                Describe("when the request in flight completes", () -> {
+                    BeforeEach(() -> {
+                        requests.get(0).complete(new Json("{}"));
+                    });
+                    It("then sends the queued commit once", () -> {
+                        assertEquals(2, sends.size());
+                        assertTrue(unit.get().inFlight());
+                    });
+                    It("then keeps its response unless every commit discards it", () -> {
+                        assertFalse(sends.get(1));
+                    });
+                    It("then completes the queued commit with its response", () -> {
+                        Json json = new Json("{\"ok\":true}");
+                        requests.get(1).complete(json);
+                        assertSame(json, second.get().get());
+                        assertFalse(unit.get().inFlight());
+                    });
+                    It("then fails the queued commit with its failure", () -> {
+                        requests.get(1).completeExceptionally(new RuntimeException("down"));
+                        try {
+                            third.get().get();
+                            fail("the queued commit went through");
+                        } catch (ExecutionException err) {
+                            assertEquals("down", err.getCause().getMessage());
+                        }
+                    });
+                });
+                Describe("when the request in flight fails", () -> {
+                    It("then still sends the queued commit", () -> {
+                        requests.get(0).completeExceptionally(new RuntimeException("down"));
+                        assertEquals(2, sends.size());
+                    });
+                });
+            });
+            Describe("when every queued commit discards", () -> {
+                It("then the queued request discards", () -> {
+                    unit.get().commit(true, send);
+                    unit.get().commit(true, send);
+                    requests.get(0).complete(new Json("{}"));
+                    assertTrue(sends.get(1));
+                });
+            });
+            Describe("when a request completes at once", () -> {
+                It("then the next commit is sent on its own", () -> {
+                    CommitCoalescer immediate = new CommitCoalescer();
+                    CommitCoalescer.Send done = (discard) -> {
+                        sends.add(discard);
+                        return CompletableFuture.completedFuture(new Json("{}"));
+                    };
+                    immediate.commit(false, done);
+                    immediate.commit(false, done);
+                    assertEquals(3, sends.size());
+                    assertEquals(0, immediate.coalesced());
+                    assertFalse(immediate.inFlight());
+                });
+            });
+            Describe("when sending", () -> {
+                It("then holds no lock, neither for the first commit nor for the queued one", () -> {
+                    CommitCoalescer coalescer = new CommitCoalescer();
+                    final List<Boolean> locked = new ArrayList<>();
+                    CommitCoalescer.Send watched = (discard) -> {
+                        locked.add(Thread.holdsLock(coalescer));
+                        return send.send(discard);
+                    };
+                    coalescer.commit(false, watched);
+                    coalescer.commit(false, watched);
+                    requests.get(1).complete(new Json("{}"));
+                    assertEquals(2, locked.size());
+                    assertFalse(locked.get(0));
+                    assertFalse(locked.get(1));
+                });
+            });
+            Describe("when sending throws", () -> {
+                It("then the commit throws and nothing stays in flight", () -> {
+                    CommitCoalescer failing = new CommitCoalescer();
+                    try {
+                        failing.commit(false, (discard) -> {
+                            throw new Throwable("API Key not set.");
+                        });
+                        fail("sending did not throw");
+                    } catch (Throwable err) {
+                        assertEquals("API Key not set.", err.getMessage());
+                    }
+                    assertFalse(failing.inFlight());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * FlushSchedulerTest.js
+ * <p>
+ * Testing: Background commits on size, age or idle triggers.
+ */
+package xenon.view.sdk;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.InFlightLimit;
+import xenon.view.sdk.api.fetch.Json;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class FlushSchedulerTest {
+    {
+        Describe("FlushScheduler", () -> {
+            final String apiUrl = "https://localhost";
+            final Fetchable JourneyFetcher = mock(Fetchable.class);
+            final Api<Fetchable> JourneyApi = mock(ApiType.class);
+            final AtomicLong now = new AtomicLong(1000);
+            AtomicReference<FlushScheduler> unit = new AtomicReference<>(null);
+            AtomicReference<Xenon> client = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(CompletableFuture.completedFuture(new Json("")));
+                unit.set(new FlushScheduler(3, 10000, 5000, 200, 0, now::get, new Random(7)));
+                client.set(new Xenon(new XenonSession(), "<token>", apiUrl, JourneyApi));
+                unit.get().register(client.get());
+            });
+            AfterEach(() -> {
+                unit.get().close();
+            });
+            It("registers a client once", () -> {
+                unit.get().register(client.get());
+                assertEquals(1, unit.get().size());
+            });
+            It("does not flush an empty journey", () -> {
+                now.addAndGet(60000);
+                unit.get().turn();
+                assertEquals(0, unit.get().flushes());
+                verify(JourneyFetcher, never()).fetch(ArgumentMatchers.any());
+            });
+            It("does not flush a small fresh journey", () -> {
+                client.get().featureAttempted("a");
+                unit.get().turn();
+                assertEquals(0, unit.get().flushes());
+            });
+            Describe("when enough events are buffered", () -> {
+                BeforeEach(() -> {
+                    client.get().featureAttempted("a");
+                    client.get().featureAttempted("b");
+                    client.get().featureAttempted("c");
+                    unit.get().turn();
+                });
+                It("then commits", () -> {
+                    verify(JourneyFetcher).fetch(ArgumentMatchers.any());
+                    assertEquals(0, client.get().journey().length());
+                    assertEquals(1, unit.get().flushes());
+                });
+            });
+            Describe("when the oldest event is too old", () -> {
+                It("then commits even while the session is busy", () -> {
+                    client.get().featureAttempted("a");
+                    for (int i = 0; i < 4; i++) {
+                        unit.get().turn();
+                        now.addAndGet(3000);
+                        client.get().featureAttempted("a");
+                    }
+                    unit.get().turn();
+                    assertEquals(1, unit.get().flushes());
+                });
+            });
+            Describe("when the session goes idle", () -> {
+                It("then commits", () -> {
+                    client.get().featureAttempted("a");
+                    unit.get().turn();
+                    now.addAndGet(5000);
+                    unit.get().turn();
+                    assertEquals(1, unit.get().flushes());
+                    verify(JourneyFetcher).fetch(ArgumentMatchers.any());
+                });
+            });
+            Describe("when unregistered", () -> {
+                It("then leaves the client alone", () -> {
+                    unit.get().unregister(client.get());
+                    client.get().featureAttempted("a");
+                    now.addAndGet(60000);
+                    unit.get().turn();
+                    assertEquals(0, unit.get().flushes());
+                    assertEquals(0, unit.get().size());
+                });
+            });
+            Describe("when jittered", () -> {
+                It("then flushes within the jitter of the threshold", () -> {
+                    FlushScheduler jittered = new FlushScheduler(0, 0, 5000, 200, 1000, now::get, new Random(7));
+                    jittered.register(client.get());
+                    client.get().featureAttempted("a");
+                    jittered.turn();
+                    now.addAndGet(4999);
+                    jittered.turn();
+                    assertEquals(0, jittered.flushes());
+                    now.addAndGet(1001);
+                    jittered.turn();
+                    assertEquals(1, jittered.flushes());
+                });
+            });
+            Describe("when started", () -> {
+                It("then ticks on the shared timer", () -> {
+                    FlushScheduler real = new FlushScheduler(1, 0, 0);
+                    real.register(client.get());
+                    client.get().featureAttempted("a");
+                    real.start();
+                    long deadline = System.currentTimeMillis() + 5000;
+                    while (real.flushes() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+                    real.close();
+                    assertEquals(1, real.flushes());
+                });
+                It("then does not block the timer on a saturated limit", () -> {
+                    final InFlightLimit limit = new InFlightLimit(0, InFlightLimit.Policy.BLOCK, 60000);
+                    InFlightLimit.use(limit);
+                    try {
+                        Xenon fetching = new Xenon(new XenonSession(), "<token>", apiUrl, xenon.view.sdk.api.JourneyApi::new);
+                        FlushScheduler real = new FlushScheduler(1, 0, 0);
+                        real.register(fetching);
+                        fetching.featureAttempted("a");
+                        real.start();
+                        long deadline = System.currentTimeMillis() + 5000;
+                        while (limit.rejected() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+                        real.close();
+                        assertEquals(1, limit.rejected());
+                        assertEquals(0, limit.waiting());
+                        assertEquals(1, fetching.journey().length());
+                    } finally {
+                        InFlightLimit.use(InFlightLimit.unbounded());
+                    }
+                });
+            });
+            Describe("when a registry flushes automatically", () -> {
+                It("then registers new sessions and lets go of evicted ones", () -> {
+                    XenonSessionRegistry registry = new XenonSessionRegistry(100, 60000,
+                            (session) -> new Xenon(session, "<token>", apiUrl, JourneyApi), now::get)
+                            .autoFlush(unit.get());
+                    registry.session("a");
+                    assertEquals(2, unit.get().size());
+                    registry.remove("a");
+                    assertEquals(1, unit.get().size());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonBatchTest.js
+ * <p>
+ * Testing: Commits the journeys of many sessions through the batch API, a bounded number of bytes per request.
+ */
+package xenon.view.sdk;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+import xenon.view.sdk.api.fetch.CircuitBreaker;
+import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.api.fetch.Retries;
+import xenon.view.sdk.api.fetch.StubCollector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class XenonBatchTest {
+    {
+        Describe("XenonBatch", () -> {
+            AtomicReference<StubCollector> collector = new AtomicReference<>(null);
+            AtomicReference<List<XenonSession>> sessions = new AtomicReference<>(null);
+            AtomicReference<List<CompletableFuture<XenonBatch.Result>>> commits = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                Retries.use(Retries.none());
+                CircuitBreaker.use(new CircuitBreaker());
+                collector.set(new StubCollector());
+                sessions.set(Arrays.asList(new XenonSession("a"), new XenonSession("b"), new XenonSession("c")));
+                for (XenonSession session : sessions.get()) {
+                    new Xenon(session).featureAttempted("feature " + session.id());
+                }
+            });
+            AfterEach(() -> {
+                collector.get().close();
+                Retries.use(Retries.defaults());
+            });
+            It("needs an API key", () -> {
+                try {
+                    new XenonBatch("", collector.get().root()).commit(sessions.get());
+                    fail("committed without a key");
+                } catch (Throwable err) {
+                    assertEquals("API Key not set.", err.getMessage());
+                }
+            });
+            Describe("when every session is accepted", () -> {
+                BeforeEach(() -> {
+                    commits.set(new XenonBatch("<token>", collector.get().root()).commit(sessions.get()));
+                });
+                It("then sends all of them in one request", () -> {
+                    assertEquals(1, commits.get().size());
+                    commits.get().get(0).get();
+                    JSONObject body = new JSONObject(collector.get().body());
+                    assertEquals("ApiBatch", body.getString("name"));
+                    JSONArray sent = body.getJSONObject("parameters").getJSONArray("sessions");
+                    assertEquals(3, sent.length());
+                    assertEquals("b", sent.getJSONObject(1).getString("uuid"));
+                    assertEquals("feature b", sent.getJSONObject(1).getJSONArray("journey").getJSONObject(0).getString("name"));
+                });
+                It("then commits every session", () -> {
+                    XenonBatch.Result result = commits.get().get(0).get();
+                    for (XenonSession session : sessions.get()) {
+                        assertTrue(result.committed(session.id()));
+                        assertEquals(200, (int) result.statuses().get(session.id()));
+                        assertEquals(0, session.bufferedEvents());
+                    }
+                });
+            });
+            Describe("when the batch is bounded", () -> {
+                BeforeEach(() -> {
+                    commits.set(new XenonBatch("<token>", collector.get().root(), 1).commit(sessions.get()));
+                    for (CompletableFuture<XenonBatch.Result> commit : commits.get()) commit.get();
+                });
+                It("then sends a session too big for it on its own", () -> {
+                    assertEquals(3, commits.get().size());
+                    assertEquals(3, collector.get().batches.size());
+                });
+            });
+            Describe("when the batch fits the JSON of two sessions", () -> {
+                It("then packs two into a request", () -> {
+                    long bytes = 0;
+                    for (XenonSession session : sessions.get().subList(0, 2)) {
+                        bytes += new JSONObject().put("id", session.id()).put("journey", session.journey())
+                                .toString().getBytes(StandardCharsets.UTF_8).length;
+                    }
+                    commits.set(new XenonBatch("<token>", collector.get().root(), bytes).commit(sessions.get()));
+                    for (CompletableFuture<XenonBatch.Result> commit : commits.get()) commit.get();
+                    assertEquals(2, commits.get().size());
+                    assertEquals(2, commits.get().get(0).get().statuses().size());
+                });
+            });
+            Describe("when a session has a commit of its own in flight", () -> {
+                It("then leaves it for the next batch", () -> {
+                    assertTrue(sessions.get().get(0).commits.claim());
+                    new XenonBatch("<token>", collector.get().root()).commit(sessions.get()).get(0).get();
+                    assertFalse(collector.get().batches.get(0).contains("feature a"));
+                    assertEquals(1, sessions.get().get(0).bufferedEvents());
+                    assertEquals(0, sessions.get().get(1).bufferedEvents());
+                });
+            });
+            Describe("when a session commits while its batch is in flight", () -> {
+                It("then sends the commit once the batch is settled", () -> {
+                    final List<JSONObject> sent = new ArrayList<>();
+                    final XenonSession session = sessions.get().get(0);
+                    Xenon client = new Xenon(session, "<token>", collector.get().root(), (url) -> (params) -> {
+                        sent.add(params);
+                        return CompletableFuture.completedFuture(new Json("{}"));
+                    });
+                    final CompletableFuture<Json> pending = new CompletableFuture<>();
+                    CompletableFuture<XenonBatch.Result> batch = new XenonBatch("<token>", collector.get().root(),
+                            XenonBatch.defaultMaxBatchBytes, (url) -> (params) -> pending)
+                            .commit(Arrays.asList(session)).get(0);
+                    client.featureAttempted("later");
+                    CompletableFuture<Json> later = client.commit();
+                    assertEquals(0, sent.size());
+                    assertEquals(1, session.coalescedCommits());
+                    pending.complete(new Json("{\"sessions\": {\"a\": {\"status\": 200}}}"));
+                    assertTrue(batch.get().committed("a"));
+                    assertEquals(1, sent.size());
+                    assertEquals(1, sent.get(0).getJSONArray("journey").length());
+                    assertTrue(later.isDone());
+                });
+            });
+            Describe("when empty sessions are given", () -> {
+                It("then leaves them out", () -> {
+                    List<CompletableFuture<XenonBatch.Result>> none = new XenonBatch("<token>", collector.get().root())
+                            .commit(Arrays.asList(new XenonSession("empty")));
+                    assertEquals(0, none.size());
+                });
+            });
+            Describe("when some sessions fail", () -> {
+                AtomicReference<XenonBatch.Result> result = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    collector.get().sessionStatuses.put("a", 503);
+                    collector.get().sessionStatuses.put("b", 400);
+                    result.set(new XenonBatch("<token>", collector.get().root()).commit(sessions.get()).get(0).get());
+                });
+                It("then reports each session's status", () -> {
+                    assertEquals(503, (int) result.get().statuses().get("a"));
+                    assertEquals(400, (int) result.get().statuses().get("b"));
+                    assertTrue(result.get().committed("c"));
+                });
+                It("then requeues only the session that can be sent again", () -> {
+                    assertEquals(1, sessions.get().get(0).bufferedEvents());
+                    assertEquals(0, sessions.get().get(2).bufferedEvents());
+                });
+                It("then dead letters the session refused for good", () -> {
+                    assertEquals(0, sessions.get().get(1).bufferedEvents());
+                    assertEquals(1, sessions.get().get(1).deadLetters().size());
+                    assertEquals("Refused b", sessions.get().get(1).deadLetters().drain().get(0).reason);
+                });
+            });
+            Describe("when a session is left out of the answer", () -> {
+                It("then requeues it", () -> {
+                    collector.get().sessionStatuses.put("a", 0);
+                    XenonBatch.Result result = new XenonBatch("<token>", collector.get().root())
+                            .commit(sessions.get()).get(0).get();
+                    assertFalse(result.committed("a"));
+                    assertEquals(1, sessions.get().get(0).bufferedEvents());
+                });
+            });
+            Describe("when the whole request fails", () -> {
+                It("then requeues every session", () -> {
+                    collector.get().statuses.add(503);
+                    CompletableFuture<XenonBatch.Result> commit = new XenonBatch("<token>", collector.get().root())
+                            .commit(sessions.get()).get(0);
+                    try {
+                        commit.get();
+                        fail("the batch went through");
+                    } catch (ExecutionException expected) {
+                        // reported through the future
+                    }
+                    for (XenonSession session : sessions.get()) assertEquals(1, session.bufferedEvents());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonSessionRegistryTest.js
+ * <p>
+ * Testing: Sharded map of session ids to Xenon clients.
+ */
+package xenon.view.sdk;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.api.fetch.TransportException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class XenonSessionRegistryTest {
+    {
+        Describe("XenonSessionRegistry", () -> {
+            final String apiUrl = "https://localhost";
+            final Fetchable JourneyFetcher = mock(Fetchable.class);
+            final Api<Fetchable> JourneyApi = mock(ApiType.class);
+            final AtomicLong now = new AtomicLong(1000);
+            AtomicReference<XenonSessionRegistry> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(CompletableFuture.completedFuture(new Json("")));
+                unit.set(new XenonSessionRegistry(100, 60000,
+                        (session) -> new Xenon(session, "<token>", apiUrl, JourneyApi), now::get));
+            });
+            It("can be default constructed", () -> {
+                assertEquals(0, new XenonSessionRegistry("<token>", apiUrl, 1000, 60000).size());
+            });
+            It("returns the same client for a session id", () -> {
+                assertSame(unit.get().session("a"), unit.get().session("a"));
+                assertEquals("a", unit.get().session("a").id());
+                assertEquals(1, unit.get().size());
+            });
+            It("keeps sessions apart", () -> {
+                unit.get().session("a").featureAttempted("feature");
+                assertEquals(0, unit.get().session("b").journey().length());
+            });
+            Describe("when over capacity", () -> {
+                BeforeEach(() -> {
+                    unit.set(new XenonSessionRegistry(1, 60000,
+                            (session) -> new Xenon(session, "<token>", apiUrl, JourneyApi), now::get));
+                    unit.get().session("a").featureAttempted("feature");
+                    unit.get().session("b");
+                });
+                It("then evicts the least recently used session", () -> {
+                    assertFalse(unit.get().contains("a"));
+                    assertTrue(unit.get().contains("b"));
+                });
+                It("then commits the evicted journey", () -> {
+                    verify(JourneyFetcher).fetch(argThat((JSONObject params) -> {
+                        assertEquals("a", params.getString("id"));
+                        assertEquals(1, params.getJSONArray("journey").length());
+                        return true;
+                    }));
+                });
+            });
+            Describe("when sessions go idle", () -> {
+                AtomicReference<List<CompletableFuture<Json>>> flushed = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    unit.get().session("idle").featureAttempted("feature");
+                    unit.get().session("empty");
+                    now.addAndGet(60001);
+                    unit.get().session("fresh").featureAttempted("feature");
+                    flushed.set(unit.get().evictIdle());
+                });
+                It("then evicts only idle sessions", () -> {
+                    assertFalse(unit.get().contains("idle"));
+                    assertFalse(unit.get().contains("empty"));
+                    assertTrue(unit.get().contains("fresh"));
+                });
+                It("then commits only non empty journeys", () -> {
+                    assertEquals(1, flushed.get().size());
+                    verify(JourneyFetcher, times(1)).fetch(ArgumentMatchers.any());
+                });
+            });
+            Describe("when removing a session", () -> {
+                It("then commits its journey", () -> {
+                    unit.get().session("a").featureAttempted("feature");
+                    assertEquals(1, unit.get().remove("a").size());
+                    assertFalse(unit.get().contains("a"));
+                });
+                It("then ignores unknown sessions", () -> {
+                    assertEquals(0, unit.get().remove("unknown").size());
+                });
+            });
+            Describe("when closing", () -> {
+                It("then commits every journey", () -> {
+                    unit.get().session("a").featureAttempted("feature");
+                    unit.get().session("b").featureAttempted("feature");
+                    assertEquals(2, unit.get().close().size());
+                    assertEquals(0, unit.get().size());
+                });
+            });
+            Describe("when committing through the batch API", () -> {
+                final Fetchable BatchFetcher = mock(Fetchable.class);
+                final Api<Fetchable> BatchApi = mock(ApiType.class);
+                AtomicReference<List<CompletableFuture<XenonBatch.Result>>> committed = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    when(BatchApi.instance(apiUrl)).thenReturn(BatchFetcher);
+                    when(BatchFetcher.fetch(ArgumentMatchers.any())).thenReturn(CompletableFuture.completedFuture(
+                            new Json("{\"sessions\":{\"a\":{\"status\":200},\"b\":{\"status\":200}}}")));
+                    unit.get().session("a").featureAttempted("feature");
+                    unit.get().session("b").featureAttempted("feature");
+                    committed.set(unit.get().commit(new XenonBatch("<token>", apiUrl, XenonBatch.defaultMaxBatchBytes, BatchApi)));
+                });
+                It("then sends every session in one request", () -> {
+                    assertEquals(1, committed.get().size());
+                    verify(BatchFetcher, times(1)).fetch(argThat((JSONObject params) -> {
+                        assertEquals(2, params.getJSONArray("sessions").length());
+                        return true;
+                    }));
+                    verify(JourneyFetcher, never()).fetch(ArgumentMatchers.any());
+                });
+                It("then keeps the sessions registered", () -> {
+                    assertTrue(committed.get().get(0).get().committed("a"));
+                    assertTrue(unit.get().contains("a"));
+                    assertEquals(0, unit.get().session("a").journey().length());
+                });
+            });
+            Describe("when an eviction commit fails", () -> {
+                final List<String> evicted = new ArrayList<>();
+                BeforeEach(() -> {
+                    evicted.clear();
+                    unit.set(new XenonSessionRegistry(1, 60000,
+                            (session) -> new Xenon(session, "<token>", apiUrl, JourneyApi), now::get)
+                            .evictions((id, commit) -> evicted.add(id)));
+                });
+                It("then takes a session that can be sent again back", () -> {
+                    CompletableFuture<Json> unavailable = new CompletableFuture<>();
+                    unavailable.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(unavailable);
+                    unit.get().session("a").featureAttempted("feature");
+                    now.addAndGet(60001);
+                    unit.get().evictIdle();
+                    assertEquals(Collections.singletonList("a"), evicted);
+                    assertTrue(unit.get().contains("a"));
+                    assertEquals(1, unit.get().session("a").journey().length());
+                });
+                It("then sends a session taken back again on the next idle pass", () -> {
+                    CompletableFuture<Json> unavailable = new CompletableFuture<>();
+                    unavailable.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(unavailable);
+                    unit.get().session("a").featureAttempted("feature");
+                    now.addAndGet(60001);
+                    unit.get().evictIdle();
+                    unit.get().evictIdle();
+                    assertEquals(Arrays.asList("a", "a"), evicted);
+                });
+                It("then drops a session whose shard has no room for it", () -> {
+                    CompletableFuture<Json> unavailable = new CompletableFuture<>();
+                    unavailable.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(unavailable);
+                    unit.get().session("a").featureAttempted("feature");
+                    unit.get().session("b");
+                    assertEquals(Collections.singletonList("a"), evicted);
+                    assertFalse(unit.get().contains("a"));
+                    assertTrue(unit.get().contains("b"));
+                });
+                It("then never holds more than its sessions while every commit fails", () -> {
+                    CompletableFuture<Json> unavailable = new CompletableFuture<>();
+                    unavailable.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(unavailable);
+                    XenonSessionRegistry bounded = new XenonSessionRegistry(8, 1000,
+                            (session) -> new Xenon(session, "<token>", apiUrl, JourneyApi), now::get);
+                    for (int i = 0; i < 200; i++) {
+                        bounded.session("s" + i).featureAttempted("feature");
+                        if (i % 10 == 0) {
+                            now.addAndGet(1001);
+                            bounded.evictIdle();
+                        }
+                        assertTrue(bounded.size() <= 8);
+                    }
+                });
+                It("then leaves a session refused for good dead lettered", () -> {
+                    CompletableFuture<Json> refused = new CompletableFuture<>();
+                    refused.completeExceptionally(new TransportException(400, "Bad Request"));
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(refused);
+                    Xenon a = unit.get().session("a");
+                    a.featureAttempted("feature");
+                    unit.get().session("b");
+                    assertFalse(unit.get().contains("a"));
+                    assertEquals(1, a.session().deadLetters().size());
+                });
+                It("then hands the journey to a session that came back meanwhile", () -> {
+                    CompletableFuture<Json> pending = new CompletableFuture<>();
+                    when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(pending);
+                    unit.get().session("a").featureAttempted("feature");
+                    unit.get().session("b");
+                    Xenon returned = unit.get().session("a");
+                    pending.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                    assertEquals(1, returned.journey().length());
+                });
+            });
+            Describe("when commit throws", () -> {
+                It("then reports it through the future", () -> {
+                    XenonSessionRegistry noKey = new XenonSessionRegistry(2, 60000,
+                            (session) -> new Xenon(session, "", apiUrl, JourneyApi), now::get);
+                    noKey.session("a").featureAttempted("feature");
+                    assertTrue(noKey.close().get(0).isCompletedExceptionally());
+                });
+            });
+        });
+    }
+}
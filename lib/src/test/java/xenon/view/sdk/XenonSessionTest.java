@@ -0,0 +1,162 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * XenonSessionTest.js
+ * <p>
+ * Testing: State of one customer journey.
+ */
+package xenon.view.sdk;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import xenon.view.sdk.api.Api;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.api.fetch.StubCollector;
+import xenon.view.sdk.api.fetch.TransportException;
+import xenon.view.sdk.journey.Journal;
+import xenon.view.sdk.journey.JourneyLimits;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class XenonSessionTest {
+    {
+        Describe("XenonSession", () -> {
+            It("has a random id", () -> {
+                assertNotEquals(new XenonSession().id(), new XenonSession().id());
+            });
+            It("can be given an id", () -> {
+                assertEquals("<session>", new XenonSession("<session>").id());
+            });
+            It("starts with an empty journey", () -> {
+                assertEquals(0, new XenonSession().journey().length());
+            });
+            It("has one global session", () -> {
+                assertSame(XenonSession.global(), XenonSession.global());
+                assertSame(XenonSession.global(), new Xenon().session());
+            });
+            Describe("when clients use separate sessions", () -> {
+                AtomicReference<Xenon> first = new AtomicReference<>(null);
+                AtomicReference<Xenon> second = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    first.set(new Xenon(new XenonSession(), "<token>", "https://localhost"));
+                    second.set(new Xenon(new XenonSession(), "<token>", "https://localhost"));
+                    first.get().featureAttempted("first");
+                });
+                It("then keeps journeys apart", () -> {
+                    assertEquals(1, first.get().journey().length());
+                    assertEquals(0, second.get().journey().length());
+                });
+                It("then keeps ids apart", () -> {
+                    assertNotEquals(first.get().id(), second.get().id());
+                    first.get().id("<first>");
+                    assertNotEquals("<first>", second.get().id());
+                    assertNotEquals("<first>", new Xenon().id());
+                });
+                It("then leaves the global session alone", () -> {
+                    new Xenon().reset();
+                    first.get().featureAttempted("again");
+                    assertEquals(0, new Xenon().journey().length());
+                });
+                It("then keeps credentials apart", () -> {
+                    first.get().init("<other token>", "https://other");
+                    assertEquals("<token>", second.get().session().apiKey);
+                    assertEquals("https://localhost", second.get().session().apiUrl);
+                });
+            });
+            Describe("when the journey is capped to force a flush", () -> {
+                final Fetchable fetcher = mock(Fetchable.class);
+                final Api<Fetchable> api = mock(ApiType.class);
+                AtomicReference<Xenon> unit = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    when(api.instance("https://localhost")).thenReturn(fetcher);
+                    when(fetcher.fetch(ArgumentMatchers.any())).thenReturn(CompletableFuture.completedFuture(new Json("")));
+                    XenonSession session = new XenonSession("<session>", new JourneyLimits(2, Long.MAX_VALUE, JourneyLimits.Overflow.FORCE_FLUSH));
+                    unit.set(new Xenon(session, "<token>", "https://localhost", api));
+                    unit.get().featureAttempted("a");
+                    unit.get().featureAttempted("b");
+                    unit.get().featureAttempted("c");
+                });
+                It("then commits the buffered journey", () -> {
+                    verify(fetcher).fetch(ArgumentMatchers.any());
+                    assertEquals(1, unit.get().journey().length());
+                    assertEquals(1, unit.get().session().bufferedEvents());
+                });
+            });
+            Describe("when the collector does not implement the commit", () -> {
+                It("then dead letters the journey after one request", () -> {
+                    try (StubCollector collector = new StubCollector()) {
+                        collector.statuses.addAll(Arrays.asList(501, 501));
+                        XenonSession session = new XenonSession();
+                        Xenon client = new Xenon(session, "<token>", collector.root());
+                        client.featureAttempted("a");
+                        try {
+                            client.commit().get();
+                            fail("a 501 was accepted");
+                        } catch (ExecutionException err) {
+                            assertEquals(501, ((TransportException) err.getCause()).status());
+                        }
+                        assertEquals(1, collector.statuses.size());
+                        assertEquals(0, session.journey().length());
+                        assertEquals(501, session.deadLetters().drain().get(0).status);
+                    }
+                });
+            });
+            Describe("when journaled", () -> {
+                final Fetchable fetcher = mock(Fetchable.class);
+                final Api<Fetchable> api = mock(ApiType.class);
+                AtomicReference<File> path = new AtomicReference<>(null);
+                AtomicReference<Xenon> unit = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    path.set(File.createTempFile("session", ".journal"));
+                    path.get().delete();
+                    when(api.instance("https://localhost")).thenReturn(fetcher);
+                    Journal journal = new Journal(path.get(), 4096);
+                    unit.set(new Xenon(new XenonSession("<session>", JourneyLimits.defaults(), journal), "<token>", "https://localhost", api));
+                    unit.get().featureAttempted("a");
+                });
+                AfterEach(() -> {
+                    path.get().delete();
+                });
+                It("then replays a journey that was never sent", () -> {
+                    XenonSession restarted = new XenonSession("<session>", JourneyLimits.defaults(), new Journal(path.get(), 4096));
+                    assertEquals("a", restarted.journey().getJSONObject(0).getString("name"));
+                });
+                It("then forgets a journey once it is accepted", () -> {
+                    when(fetcher.fetch(ArgumentMatchers.any())).thenReturn(CompletableFuture.completedFuture(new Json("")));
+                    unit.get().commit();
+                    XenonSession restarted = new XenonSession("<session>", JourneyLimits.defaults(), new Journal(path.get(), 4096));
+                    assertEquals(0, restarted.journey().length());
+                });
+                It("then keeps a journey the server did not accept", () -> {
+                    CompletableFuture<Json> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new Throwable("down"));
+                    when(fetcher.fetch(ArgumentMatchers.any())).thenReturn(failed);
+                    unit.get().commit();
+                    XenonSession restarted = new XenonSession("<session>", JourneyLimits.defaults(), new Journal(path.get(), 4096));
+                    assertEquals(1, restarted.journey().length());
+                });
+                It("then forgets a journey replaced by a later reset", () -> {
+                    unit.get().reset();
+                    unit.get().featureAttempted("b");
+                    unit.get().reset();
+                    XenonSession restarted = new XenonSession("<session>", JourneyLimits.defaults(), new Journal(path.get(), 4096));
+                    assertEquals(1, restarted.journey().length());
+                    assertEquals("b", restarted.journey().getJSONObject(0).getString("name"));
+                });
+            });
+        });
+    }
+}
@@ -16,9 +16,13 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
 import xenon.view.sdk.api.Api;
 import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.InFlightLimit;
 import xenon.view.sdk.api.fetch.Json;
+import xenon.view.sdk.api.fetch.TransportException;
+import xenon.view.sdk.journey.DeadLetters;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -30,12 +34,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
-class ApiType implements Api<Fetchable> {
-    public Fetchable instance(String _apiUrl) {
-        return null;
-    }
-}
-
 @RunWith(Ginkgo4jRunner.class)
 @Ginkgo4jConfiguration(threads = 1)
 public class XenonTest {
@@ -1387,6 +1385,30 @@ public class XenonTest {
                     It("then resets journey", () -> {
                         assertEquals("[]", journeyStr.get());
                     });
+                    Describe("when committing again", () -> {
+                        BeforeEach(() -> {
+                            unit.get().featureAttempted(feature);
+                            unit.get().commit();
+                        });
+                        It("then reuses the journey API", () -> {
+                            verify(JourneyApi, times(1)).instance(apiUrl);
+                            verify(JourneyFetcher, times(2)).fetch(ArgumentMatchers.any());
+                        });
+                    });
+                    Describe("when api url changes", () -> {
+                        final String customUrl = "<custom url>";
+                        BeforeEach(() -> {
+                            when(JourneyApi.instance(customUrl)).thenReturn(JourneyFetcher);
+                            unit.get().init("", customUrl);
+                            unit.get().commit();
+                        });
+                        It("then rebuilds the journey API", () -> {
+                            verify(JourneyApi).instance(customUrl);
+                        });
+                        AfterEach(() -> {
+                            unit.get().init("", apiUrl);
+                        });
+                    });
                 });
                 Describe("when custom api key", () -> {
                     final String customKey = "<custom>";
@@ -1444,6 +1466,97 @@ public class XenonTest {
                         ));
                     });
                 });
+                Describe("when the transport is saturated and buffers", () -> {
+                    AtomicReference<CompletableFuture<Json>> commit = new AtomicReference<>(null);
+                    BeforeEach(() -> {
+                        when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                        InFlightLimit.use(new InFlightLimit(0, InFlightLimit.Policy.BUFFER));
+                        commit.set(unit.get().commit());
+                    });
+                    AfterEach(() -> {
+                        InFlightLimit.use(InFlightLimit.unbounded());
+                    });
+                    It("then leaves the journey in the buffer", () -> {
+                        assertThat(journeyStr.get(), containsString("\"name\":\"committing\""));
+                        verify(JourneyFetcher, never()).fetch(ArgumentMatchers.any());
+                    });
+                    It("then fails the commit as saturated", () -> {
+                        assertTrue(commit.get().isCompletedExceptionally());
+                        commit.get().exceptionally((err) -> {
+                            assertTrue(err instanceof InFlightLimit.Saturated);
+                            return null;
+                        });
+                    });
+                });
+                Describe("when commits overlap", () -> {
+                    final CompletableFuture<Json> pending = new CompletableFuture<>();
+                    AtomicReference<Xenon> customer = new AtomicReference<>(null);
+                    AtomicReference<CompletableFuture<Json>> second = new AtomicReference<>(null);
+                    BeforeEach(() -> {
+                        when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                        when(JourneyFetcher.fetch(ArgumentMatchers.any()))
+                                .thenReturn(pending)
+                                .thenReturn(CompletableFuture.completedFuture(new Json("")));
+                        customer.set(new Xenon(new XenonSession(), apiKey, apiUrl, JourneyApi));
+                        customer.get().featureAttempted("first");
+                        customer.get().commit();
+                        customer.get().featureAttempted("second");
+                        second.set(customer.get().commit());
+                        customer.get().featureAttempted("third");
+                        customer.get().commit();
+                    });
+                    It("then sends only one request while one is in flight", () -> {
+                        verify(JourneyFetcher, times(1)).fetch(ArgumentMatchers.any());
+                        assertEquals(2, customer.get().session().coalescedCommits());
+                        assertFalse(second.get().isDone());
+                    });
+                    Describe("when the request in flight completes", () -> {
+                        BeforeEach(() -> {
+                            pending.complete(new Json(""));
+                        });
+                        It("then sends everything buffered since in one request", () -> {
+                            verify(JourneyFetcher, times(2)).fetch(ArgumentMatchers.any());
+                            verify(JourneyFetcher).fetch(argThat((JSONObject params) ->
+                                    params.getJSONArray("journey").length() == 2));
+                            assertTrue(second.get().isDone());
+                            assertEquals(0, customer.get().journey().length());
+                        });
+                    });
+                });
+                Describe("when API rejects the journey for good", () -> {
+                    BeforeEach(() -> {
+                        unit.get().session().deadLetters().drain();
+                        CompletableFuture<Json> rejected = new CompletableFuture<>();
+                        rejected.completeExceptionally(new TransportException(413, "Payload Too Large"));
+                        when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(rejected);
+                        when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                        unit.get().commit().exceptionally((err) -> null);
+                    });
+                    It("then does not restore the journey", () -> {
+                        assertEquals("[]", journeyStr.get());
+                    });
+                    It("then keeps it as a dead letter", () -> {
+                        List<DeadLetters.Letter> letters = unit.get().session().deadLetters().drain();
+                        assertEquals(1, letters.size());
+                        assertEquals(413, letters.get(0).status);
+                        assertEquals("Payload Too Large", letters.get(0).reason);
+                        assertEquals("committing", letters.get(0).journey.getJSONObject(0).getString("name"));
+                    });
+                });
+                Describe("when API fails with a retryable status", () -> {
+                    BeforeEach(() -> {
+                        unit.get().session().deadLetters().drain();
+                        CompletableFuture<Json> unavailable = new CompletableFuture<>();
+                        unavailable.completeExceptionally(new TransportException(503, "Service Unavailable"));
+                        when(JourneyFetcher.fetch(ArgumentMatchers.any())).thenReturn(unavailable);
+                        when(JourneyApi.instance(apiUrl)).thenReturn(JourneyFetcher);
+                        unit.get().commit().exceptionally((err) -> null);
+                    });
+                    It("then restores journey", () -> {
+                        assertThat(journeyStr.get(), containsString("\"name\":\"committing\""));
+                        assertEquals(0, unit.get().session().deadLetters().size());
+                    });
+                });
             });
             Describe("when heartbeating", () -> {
                 final String feature = "heartbeating";
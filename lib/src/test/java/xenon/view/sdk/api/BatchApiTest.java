@@ -0,0 +1,92 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * BatchApiTest.js
+ * <p>
+ * Testing: Batch API interactions with Xenon View.
+ */
+package xenon.view.sdk.api;
+
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.journey.Dictionary;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class BatchApiTest {
+    {
+        Describe("BatchApi", () -> {
+            final String apiUrl = "https://app.xenonview.com";
+            final JSONObject platform = new JSONObject().put("deviceModel", "Pixel");
+            final JSONObject data = new JSONObject() {{
+                put("token", "<testToken>");
+                put("timestamp", 0.1);
+                put("sessions", new JSONArray()
+                        .put(new JSONObject().put("id", "a").put("journey", new JSONArray().put("step")))
+                        .put(new JSONObject().put("id", "b").put("journey", new JSONArray()
+                                .put(new JSONObject().put("platform", platform))
+                                .put(new JSONObject().put("platform", platform)))));
+            }};
+            final Fetchable jsonFetcher = mock(Fetchable.class);
+            AtomicReference<ApiBase> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new BatchApi(apiUrl, jsonFetcher));
+            });
+            It("can be default constructed", () -> {
+                assertNotNull(new BatchApi(apiUrl));
+            });
+            It("then requests Batch Api", () -> {
+                unit.get().fetch(data);
+                verify(jsonFetcher).fetch(argThat((JSONObject params) -> {
+                    try {
+                        assertEquals("POST", params.get("method").toString());
+                        assertEquals(apiUrl + "/batch", params.get("url").toString());
+                        assertEquals("batch", params.get("endpoint").toString());
+                        JSONObject body = params.getJSONObject("body");
+                        assertEquals("ApiBatch", body.get("name"));
+                        JSONObject requestHeaders = params.getJSONObject("requestHeaders");
+                        assertEquals("Bearer <testToken>", requestHeaders.get("authorization"));
+                    } catch (JSONException err) {
+                        return false;
+                    }
+                    return true;
+                }));
+            });
+            It("then creates a uuid and journey per session", () -> {
+                JSONObject local = unit.get().params(data);
+                assertEquals(0.1, local.getDouble("timestamp"), 0.0);
+                JSONArray sessions = local.getJSONArray("sessions");
+                assertEquals(2, sessions.length());
+                assertEquals("a", sessions.getJSONObject(0).getString("uuid"));
+                assertEquals("step", sessions.getJSONObject(0).getJSONArray("journey").get(0));
+                assertEquals("b", sessions.getJSONObject(1).getString("uuid"));
+                assertFalse(sessions.getJSONObject(1).has("dictionary"));
+            });
+            Describe("when the dictionary is used", () -> {
+                BeforeEach(() -> {
+                    Dictionary.use(true);
+                });
+                AfterEach(() -> {
+                    Dictionary.use(false);
+                });
+                It("then encodes each session's journey on its own", () -> {
+                    JSONObject session = unit.get().params(data).getJSONArray("sessions").getJSONObject(1);
+                    assertEquals(0, session.getJSONArray("journey").getJSONObject(1).get("platform"));
+                    assertTrue(session.getJSONObject("dictionary").getJSONArray("platform").getJSONObject(0).similar(platform));
+                });
+            });
+        });
+    }
+}
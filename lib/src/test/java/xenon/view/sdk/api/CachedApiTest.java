@@ -0,0 +1,64 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CachedApiTest.js
+ * <p>
+ * Testing: Keeps the API built for the last apiUrl.
+ */
+package xenon.view.sdk.api;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import xenon.view.sdk.api.fetch.Fetchable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CachedApiTest {
+    interface FetchableApi extends Api<Fetchable> {
+    }
+
+    {
+        Describe("CachedApi", () -> {
+            final String apiUrl = "https://app.xenonview.com";
+            final String otherUrl = "https://other.xenonview.com";
+            final Api<Fetchable> api = mock(FetchableApi.class);
+            final Fetchable fetcher = mock(Fetchable.class);
+            final Fetchable otherFetcher = mock(Fetchable.class);
+            AtomicReference<CachedApi<Fetchable>> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                when(api.instance(apiUrl)).thenReturn(fetcher);
+                when(api.instance(otherUrl)).thenReturn(otherFetcher);
+                unit.set(new CachedApi<>(api));
+            });
+            It("builds once per url", () -> {
+                assertSame(fetcher, unit.get().instance(apiUrl));
+                assertSame(fetcher, unit.get().instance(apiUrl));
+                verify(api, times(1)).instance(apiUrl);
+            });
+            It("rebuilds when the url changes", () -> {
+                unit.get().instance(apiUrl);
+                assertSame(otherFetcher, unit.get().instance(otherUrl));
+                assertSame(fetcher, unit.get().instance(apiUrl));
+                verify(api, times(2)).instance(apiUrl);
+            });
+            It("rebuilds after invalidate", () -> {
+                unit.get().instance(apiUrl);
+                unit.get().invalidate();
+                unit.get().instance(apiUrl);
+                verify(api, times(2)).instance(apiUrl);
+            });
+            It("does not cache a missing instance", () -> {
+                assertNull(unit.get().instance("<unknown>"));
+                unit.get().instance("<unknown>");
+                verify(api, times(2)).instance("<unknown>");
+            });
+        });
+    }
+}
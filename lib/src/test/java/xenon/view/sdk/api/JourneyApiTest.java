@@ -17,12 +17,13 @@ import org.json.JSONObject;
 import org.junit.runner.RunWith;
 
 import xenon.view.sdk.api.fetch.Fetchable;
+import xenon.view.sdk.api.fetch.StubCollector;
+import xenon.view.sdk.journey.Dictionary;
 
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 @RunWith(Ginkgo4jRunner.class)
@@ -95,6 +96,41 @@ public class JourneyApiTest {
                     }}.toString(), local.toString());
                 });
             });
+            Describe("when the journey is dictionary encoded", () -> {
+                final JSONObject platform = new JSONObject().put("softwareVersion", "5.1.5").put("deviceModel", "Pixel 4 XL");
+                final JSONArray tags = new JSONArray().put("subscription-variant-A");
+                final JSONArray journey = new JSONArray()
+                        .put(new JSONObject().put("category", "Feature").put("action", "Attempted"))
+                        .put(new JSONObject().put("superOutcome", "Lead Capture").put("platform", platform).put("tags", tags))
+                        .put(new JSONObject().put("superOutcome", "Account Signup").put("platform", platform).put("tags", tags))
+                        .put(new JSONObject().put("superOutcome", "Referral").put("platform", new JSONObject(platform.toString())));
+                BeforeEach(() -> {
+                    Dictionary.use(true);
+                    data.set(new JSONObject(dataWithoutJourney.toString()).put("journey", journey));
+                });
+                AfterEach(() -> {
+                    Dictionary.use(false);
+                });
+                It("then sends each platform and tag set once", () -> {
+                    JSONObject local = unit.get().params(data.get());
+                    JSONArray sent = local.getJSONArray("journey");
+                    assertEquals(1, local.getJSONObject("dictionary").getJSONArray("platform").length());
+                    assertEquals(1, local.getJSONObject("dictionary").getJSONArray("tags").length());
+                    assertSame(journey.get(0), sent.get(0));
+                    assertEquals(0, sent.getJSONObject(1).getInt("platform"));
+                    assertEquals(0, sent.getJSONObject(2).getInt("tags"));
+                    assertEquals(0, sent.getJSONObject(3).getInt("platform"));
+                    assertSame(platform, journey.getJSONObject(1).get("platform"));
+                });
+                It("then the collector expands it to the same journey", () -> {
+                    try (StubCollector collector = new StubCollector()) {
+                        new JourneyApi(collector.root()).fetch(data.get()).get();
+                        JSONArray expanded = collector.expanded().getJSONObject("parameters").getJSONArray("journey");
+                        assertTrue(journey.similar(expanded));
+                        assertTrue(collector.body().length() < new JSONObject().put("journey", journey).toString().length());
+                    }
+                });
+            });
         });
     }
 }
\ No newline at end of file
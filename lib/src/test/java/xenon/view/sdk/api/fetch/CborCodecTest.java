@@ -0,0 +1,72 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CborCodecTest.js
+ * <p>
+ * Testing: CBOR request bodies, against the examples of RFC 8949 appendix A.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okio.Buffer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CborCodecTest {
+    static String hex(Object value) throws Exception {
+        Buffer buffer = new Buffer();
+        new CborCodec().write(buffer, value);
+        return buffer.readByteString().hex();
+    }
+
+    {
+        Describe("CborCodec", () -> {
+            It("is application/cbor", () -> {
+                assertEquals("application/cbor", new CborCodec().mediaType().toString());
+            });
+            It("writes unsigned integers in the smallest head", () -> {
+                assertEquals("00", hex(0));
+                assertEquals("17", hex(23));
+                assertEquals("1818", hex(24));
+                assertEquals("1864", hex(100));
+                assertEquals("1903e8", hex(1000));
+                assertEquals("1a000f4240", hex(1000000));
+                assertEquals("1b000000e8d4a51000", hex(1000000000000L));
+            });
+            It("writes negative integers", () -> {
+                assertEquals("20", hex(-1));
+                assertEquals("3863", hex(-100));
+                assertEquals("3903e7", hex(-1000));
+            });
+            It("writes doubles as float64", () -> {
+                assertEquals("fb3ff199999999999a", hex(1.1));
+                assertEquals("fb41d954fc40000000", hex(1700000000.0));
+            });
+            It("writes simple values", () -> {
+                assertEquals("f4", hex(false));
+                assertEquals("f5", hex(true));
+                assertEquals("f6", hex(JSONObject.NULL));
+            });
+            It("writes text with its utf-8 length", () -> {
+                assertEquals("60", hex(""));
+                assertEquals("6449455446", hex("IETF"));
+                assertEquals("62c3bc", hex("\u00fc"));
+                assertEquals("63e6b0b4", hex("\u6c34"));
+            });
+            It("writes arrays and maps", () -> {
+                assertEquals("80", hex(new JSONArray()));
+                assertEquals("83010203", hex(new JSONArray().put(1).put(2).put(3)));
+                assertEquals("a0", hex(new JSONObject()));
+                assertEquals("a1616101", hex(new JSONObject().put("a", 1)));
+                assertEquals("a16161820102", hex(new JSONObject().put("a", new JSONArray().put(1).put(2))));
+            });
+        });
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CircuitBreakerTest.js
+ * <p>
+ * Testing: Per collector circuit that fails requests fast while the collector is unreachable.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CircuitBreakerTest {
+    static Throwable failure(String url) throws Exception {
+        JSONObject data = new JSONObject().put("url", url).put("method", "POST").put("body", new JSONObject());
+        try {
+            new JsonFetcher().fetch(data).get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException err) {
+            return err.getCause();
+        }
+        return null;
+    }
+
+    {
+        Describe("CircuitBreaker", () -> {
+            final String collector = "127.0.0.1:1";
+            final AtomicLong now = new AtomicLong(1000);
+            AtomicReference<CircuitBreaker> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new CircuitBreaker(3, 30000, now::get));
+            });
+            It("starts closed", () -> {
+                assertEquals(CircuitBreaker.State.CLOSED, unit.get().state(collector));
+                assertEquals(CircuitBreaker.Admission.PASS, unit.get().admit(collector));
+            });
+            It("stays closed below the threshold", () -> {
+                unit.get().failed(collector);
+                unit.get().failed(collector);
+                assertEquals(CircuitBreaker.State.CLOSED, unit.get().state(collector));
+            });
+            It("forgets failures after a success", () -> {
+                unit.get().failed(collector);
+                unit.get().failed(collector);
+                unit.get().succeeded(collector);
+                unit.get().failed(collector);
+                assertEquals(CircuitBreaker.State.CLOSED, unit.get().state(collector));
+            });
+            It("keeps collectors apart", () -> {
+                for (int i = 0; i < 3; i++) unit.get().failed(collector);
+                assertEquals(CircuitBreaker.State.CLOSED, unit.get().state("127.0.0.1:2"));
+            });
+            Describe("when the threshold is reached", () -> {
+                BeforeEach(() -> {
+                    for (int i = 0; i < 3; i++) unit.get().failed(collector);
+                });
+                It("then opens once", () -> {
+                    unit.get().failed(collector);
+                    assertEquals(CircuitBreaker.State.OPEN, unit.get().state(collector));
+                    assertEquals(1, unit.get().trips());
+                });
+                It("then fails fast", () -> {
+                    assertEquals(CircuitBreaker.Admission.REJECT, unit.get().admit(collector));
+                    assertEquals(1, unit.get().failedFast());
+                });
+                Describe("when it has been open long enough", () -> {
+                    BeforeEach(() -> {
+                        now.addAndGet(30000);
+                    });
+                    It("then lets one probe through", () -> {
+                        assertEquals(CircuitBreaker.Admission.PROBE, unit.get().admit(collector));
+                        assertEquals(CircuitBreaker.State.HALF_OPEN, unit.get().state(collector));
+                        assertEquals(CircuitBreaker.Admission.REJECT, unit.get().admit(collector));
+                    });
+                    It("then closes when the probe is answered", () -> {
+                        unit.get().admit(collector);
+                        unit.get().succeeded(collector);
+                        assertEquals(CircuitBreaker.State.CLOSED, unit.get().state(collector));
+                        assertEquals(CircuitBreaker.Admission.PASS, unit.get().admit(collector));
+                    });
+                    It("then opens again when the probe fails", () -> {
+                        unit.get().admit(collector);
+                        unit.get().failed(collector);
+                        assertEquals(CircuitBreaker.State.OPEN, unit.get().state(collector));
+                        assertEquals(CircuitBreaker.Admission.REJECT, unit.get().admit(collector));
+                        assertEquals(2, unit.get().trips());
+                    });
+                    It("then replaces a probe that never came back", () -> {
+                        unit.get().admit(collector);
+                        now.addAndGet(30000);
+                        assertEquals(CircuitBreaker.Admission.PROBE, unit.get().admit(collector));
+                    });
+                });
+            });
+            Describe("when fetching", () -> {
+                AfterEach(() -> {
+                    CircuitBreaker.use(new CircuitBreaker());
+                });
+                BeforeEach(() -> {
+                    CircuitBreaker.use(unit.get());
+                });
+                It("then fails fast once the collector is unreachable", () -> {
+                    String url;
+                    try (ServerSocket closed = new ServerSocket(0)) {
+                        url = "http://127.0.0.1:" + closed.getLocalPort() + "/journey";
+                    }
+                    for (int i = 0; i < 3; i++) assertTrue(failure(url) instanceof ConnectException);
+                    assertTrue(failure(url) instanceof CircuitBreaker.Open);
+                    assertFalse(Transport.client().dispatcher().executorService().isShutdown());
+                });
+                It("then probes before sending once it has been open long enough", () -> {
+                    try (StubCollector server = new StubCollector()) {
+                        String target = server.root().substring("http://".length());
+                        for (int i = 0; i < 3; i++) unit.get().failed(target);
+                        assertTrue(failure(server.url()) instanceof CircuitBreaker.Open);
+                        now.addAndGet(30000);
+                        assertNull(failure(server.url()));
+                        assertEquals(Arrays.asList("HEAD", "POST"), server.methods);
+                        assertEquals(CircuitBreaker.State.CLOSED, unit.get().state(target));
+                    }
+                });
+            });
+        });
+    }
+}
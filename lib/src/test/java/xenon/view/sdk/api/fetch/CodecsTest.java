@@ -0,0 +1,119 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CodecsTest.js
+ * <p>
+ * Testing: Wire codec negotiation with a collector.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okio.Buffer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CodecsTest {
+    static byte[] encoded(Codec codec, Object value) throws Exception {
+        Buffer buffer = new Buffer();
+        codec.write(buffer, value);
+        return buffer.readByteArray();
+    }
+
+    {
+        Describe("Codecs", () -> {
+            AtomicReference<Codecs> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new Codecs(Codecs.messagePack, Codecs.cbor));
+            });
+            It("sends JSON by default", () -> {
+                assertSame(Codecs.json, Codecs.configured().codecFor("host:443"));
+                assertSame(Codecs.json, unit.get().codecFor("host:443"));
+            });
+            It("picks the first preferred codec the collector lists", () -> {
+                unit.get().advertised("host:443", "application/json, application/cbor;q=0.5, Application/MsgPack");
+                assertSame(Codecs.messagePack, unit.get().codecFor("host:443"));
+                assertSame(Codecs.json, unit.get().codecFor("other:443"));
+            });
+            It("falls back to JSON when the collector stops listing it", () -> {
+                unit.get().advertised("host:443", "application/cbor");
+                unit.get().advertised("host:443", "application/json");
+                assertSame(Codecs.json, unit.get().codecFor("host:443"));
+            });
+            It("ignores responses without the header", () -> {
+                unit.get().advertised("host:443", "application/cbor");
+                unit.get().advertised("host:443", null);
+                assertSame(Codecs.cbor, unit.get().codecFor("host:443"));
+            });
+            It("does not pick a codec the collector rejected", () -> {
+                unit.get().advertised("host:443", "application/msgpack, application/cbor");
+                unit.get().rejected("host:443", MediaType.parse("application/msgpack"));
+                assertSame(Codecs.json, unit.get().codecFor("host:443"));
+                unit.get().advertised("host:443", "application/msgpack, application/cbor");
+                assertSame(Codecs.cbor, unit.get().codecFor("host:443"));
+            });
+            It("sends JSON when nothing is preferred", () -> {
+                Codecs none = new Codecs();
+                none.advertised("host:443", "application/cbor");
+                assertSame(Codecs.json, none.codecFor("host:443"));
+            });
+            Describe("when talking to a collector", () -> {
+                AtomicReference<StubCollector> collector = new AtomicReference<>(null);
+                AtomicReference<Runnable> post = new AtomicReference<>(null);
+                JSONObject body = new JSONObject().put("name", "ApiJourney").put("parameters", new JSONObject()
+                        .put("journey", new JSONArray().put(new JSONObject().put("outcome", "Phone Number"))));
+                BeforeEach(() -> {
+                    collector.set(new StubCollector());
+                    Codecs.use(unit.get());
+                    post.set(() -> {
+                        try {
+                            JSONObject data = new JSONObject()
+                                    .put("url", collector.get().url())
+                                    .put("method", "POST")
+                                    .put("body", body);
+                            new JsonFetcher(OkHttpClient::new).fetch(data).get(10, TimeUnit.SECONDS);
+                        } catch (Exception err) {
+                            throw new RuntimeException(err);
+                        }
+                    });
+                });
+                AfterEach(() -> {
+                    Codecs.use(new Codecs());
+                    collector.get().close();
+                });
+                It("then sends JSON until the collector lists a codec", () -> {
+                    collector.get().acceptPost = "application/msgpack, application/json";
+                    post.get().run();
+                    assertEquals("application/json; charset=utf-8", collector.get().contentTypes.get(0));
+                    assertEquals(body.toString(), collector.get().body());
+                    post.get().run();
+                    assertEquals("application/msgpack", collector.get().contentTypes.get(1));
+                    assertArrayEquals(encoded(Codecs.messagePack, body), collector.get().bytes);
+                });
+                It("then sends JSON again when the codec is refused", () -> {
+                    collector.get().acceptPost = "application/cbor";
+                    collector.get().unsupported.add("application/cbor");
+                    post.get().run();
+                    post.get().run();
+                    assertEquals("application/cbor", collector.get().contentTypes.get(1));
+                    assertEquals("application/json; charset=utf-8", collector.get().contentTypes.get(2));
+                    assertEquals(body.toString(), collector.get().body());
+                    post.get().run();
+                    assertEquals(4, collector.get().contentTypes.size());
+                    assertEquals("application/json; charset=utf-8", collector.get().contentTypes.get(3));
+                });
+            });
+        });
+    }
+}
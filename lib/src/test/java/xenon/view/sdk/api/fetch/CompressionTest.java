@@ -0,0 +1,113 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * CompressionTest.js
+ * <p>
+ * Testing: Request body compression above a size threshold, against a local stub server.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okhttp3.OkHttpClient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class CompressionTest {
+    static JSONObject journey(int events) {
+        JSONArray journey = new JSONArray();
+        for (int i = 0; i < events; i++) {
+            journey.put(new JSONObject().put("superOutcome", "Lead Capture").put("outcome", "Phone Number")
+                    .put("result", "success").put("timestamp", 1700000000.0 + i));
+        }
+        return new JSONObject().put("name", "ApiJourney").put("parameters", new JSONObject().put("journey", journey));
+    }
+
+    {
+        Describe("Compression", () -> {
+            AtomicReference<StubCollector> server = new AtomicReference<>(null);
+            AtomicReference<TransportMetrics> metrics = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                server.set(new StubCollector());
+                metrics.set(new TransportMetrics());
+            });
+            AfterEach(() -> {
+                Compression.use(Compression.none());
+                server.get().close();
+            });
+            AtomicReference<Runnable> post = new AtomicReference<>(null);
+            AtomicReference<JSONObject> sent = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                post.set(() -> {
+                    try {
+                        JSONObject data = new JSONObject()
+                                .put("url", server.get().url())
+                                .put("method", "POST")
+                                .put("body", sent.get());
+                        new JsonFetcher(OkHttpClient::new).fetch(data).get(10, TimeUnit.SECONDS);
+                    } catch (Exception err) {
+                        throw new RuntimeException(err);
+                    }
+                });
+            });
+            It("is off by default", () -> {
+                assertEquals(Compression.Encoding.NONE, Compression.configured().encoding);
+            });
+            Describe("when gzip is used", () -> {
+                BeforeEach(() -> {
+                    Compression.use(Compression.gzip(1024).metrics(metrics.get()));
+                });
+                It("then compresses a large body", () -> {
+                    sent.set(journey(500));
+                    post.get().run();
+                    assertEquals("gzip", server.get().encoding);
+                    assertEquals(sent.get().toString(), server.get().body());
+                    assertEquals(1, metrics.get().compressedBodies());
+                    assertEquals(sent.get().toString().length(), metrics.get().bytesBeforeCompression());
+                    assertTrue(metrics.get().compressionRatio() < 0.1);
+                });
+                It("then sends a small body as is with its length", () -> {
+                    sent.set(journey(2));
+                    post.get().run();
+                    assertNull(server.get().encoding);
+                    assertEquals(sent.get().toString(), server.get().body());
+                    assertEquals(String.valueOf(sent.get().toString().length()), server.get().length);
+                    assertEquals(1, metrics.get().bodies());
+                    assertEquals(0, metrics.get().compressedBodies());
+                    assertEquals(1.0, metrics.get().compressionRatio(), 0.0);
+                });
+            });
+            Describe("when deflate is used", () -> {
+                BeforeEach(() -> {
+                    Compression.use(Compression.deflate(1024).metrics(metrics.get()));
+                });
+                It("then deflates a large body", () -> {
+                    sent.set(journey(500));
+                    post.get().run();
+                    assertEquals("deflate", server.get().encoding);
+                    assertEquals(sent.get().toString(), server.get().body());
+                    assertTrue(metrics.get().compressionNanos() > 0);
+                });
+            });
+            Describe("when nothing is used", () -> {
+                It("then streams the body as is", () -> {
+                    Compression.use(Compression.none().metrics(metrics.get()));
+                    sent.set(journey(500));
+                    post.get().run();
+                    assertNull(server.get().encoding);
+                    assertEquals(sent.get().toString(), server.get().body());
+                    assertEquals(0, metrics.get().compressedBodies());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * InFlightLimitTest.js
+ * <p>
+ * Testing: Process wide cap on requests in flight, with what happens to a request over it.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class InFlightLimitTest {
+    {
+        Describe("InFlightLimit", () -> {
+            AtomicReference<InFlightLimit> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new InFlightLimit(2, InFlightLimit.Policy.FAIL_FAST));
+            });
+            It("admits up to the limit", () -> {
+                assertTrue(unit.get().acquire());
+                assertTrue(unit.get().acquire());
+                assertEquals(2, unit.get().inFlight());
+                assertTrue(unit.get().saturated());
+            });
+            It("rejects over the limit and counts it", () -> {
+                unit.get().acquire();
+                unit.get().acquire();
+                assertFalse(unit.get().acquire());
+                assertEquals(1, unit.get().rejected());
+                assertEquals(2, unit.get().inFlight());
+            });
+            It("admits again once a request is released", () -> {
+                unit.get().acquire();
+                unit.get().acquire();
+                unit.get().release();
+                assertFalse(unit.get().saturated());
+                assertTrue(unit.get().acquire());
+            });
+            It("does not buffer unless asked to", () -> {
+                unit.get().acquire();
+                unit.get().acquire();
+                assertFalse(unit.get().buffers());
+                assertTrue(new InFlightLimit(0, InFlightLimit.Policy.BUFFER).buffers());
+                assertFalse(new InFlightLimit(1, InFlightLimit.Policy.BUFFER).buffers());
+            });
+            It("is unbounded by default", () -> {
+                InFlightLimit unbounded = InFlightLimit.unbounded();
+                for (int i = 0; i < 1000; i++) assertTrue(unbounded.acquire());
+                assertFalse(unbounded.saturated());
+            });
+            It("refuses a negative limit", () -> {
+                try {
+                    new InFlightLimit(-1, InFlightLimit.Policy.FAIL_FAST);
+                    fail("negative limit accepted");
+                } catch (IllegalArgumentException expected) {
+                    // nothing could ever be sent
+                }
+            });
+            It("fails with a retryable status", () -> {
+                InFlightLimit.Saturated saturated = new InFlightLimit.Saturated(2);
+                assertEquals(0, saturated.status());
+                assertTrue(saturated.retryable());
+                assertEquals("2 requests already in flight", saturated.getMessage());
+            });
+            Describe("when blocking", () -> {
+                BeforeEach(() -> {
+                    unit.set(new InFlightLimit(1, InFlightLimit.Policy.BLOCK, 5000));
+                    unit.get().acquire();
+                });
+                It("then waits for a permit and shows as queued", () -> {
+                    final CountDownLatch started = new CountDownLatch(1);
+                    final AtomicBoolean admitted = new AtomicBoolean(false);
+                    Thread waiter = new Thread(() -> {
+                        started.countDown();
+                        admitted.set(unit.get().acquire());
+                    });
+                    waiter.start();
+                    started.await();
+                    long deadline = System.currentTimeMillis() + 5000;
+                    while (unit.get().waiting() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(1);
+                    assertEquals(1, unit.get().waiting());
+                    assertTrue(unit.get().queueDepth() >= 1);
+                    unit.get().release();
+                    waiter.join(TimeUnit.SECONDS.toMillis(5));
+                    assertTrue(admitted.get());
+                    assertEquals(0, unit.get().waiting());
+                    assertEquals(1, unit.get().inFlight());
+                });
+                It("then gives up after the timeout", () -> {
+                    InFlightLimit quick = new InFlightLimit(0, InFlightLimit.Policy.BLOCK, 10);
+                    assertFalse(quick.acquire());
+                    assertEquals(1, quick.rejected());
+                });
+                It("then fails at once on a thread that never blocks", () -> {
+                    final AtomicBoolean admitted = new AtomicBoolean(true);
+                    Thread timer = new Thread(() -> {
+                        InFlightLimit.neverBlock(true);
+                        admitted.set(unit.get().acquire());
+                    });
+                    long start = System.currentTimeMillis();
+                    timer.start();
+                    timer.join(TimeUnit.SECONDS.toMillis(5));
+                    assertFalse(admitted.get());
+                    assertTrue(System.currentTimeMillis() - start < 5000);
+                    assertEquals(1, unit.get().rejected());
+                });
+            });
+        });
+    }
+}
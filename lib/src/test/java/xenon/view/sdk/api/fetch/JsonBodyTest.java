@@ -0,0 +1,90 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JsonBodyTest.js
+ * <p>
+ * Testing: Request body that streams a JSONObject as UTF-8.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okio.Buffer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+import xenon.view.sdk.journey.Outcome;
+import xenon.view.sdk.journey.Template;
+
+import java.util.Arrays;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class JsonBodyTest {
+    static String streamed(JSONObject body) throws Exception {
+        Buffer buffer = new Buffer();
+        new JsonBody(body).writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
+    {
+        Describe("JsonBody", () -> {
+            It("is json in utf-8", () -> {
+                assertEquals("application/json; charset=utf-8", new JsonBody(new JSONObject()).contentType().toString());
+            });
+            It("has no length up front", () -> {
+                assertEquals(-1, new JsonBody(new JSONObject()).contentLength());
+            });
+            It("writes what toString would", () -> {
+                JSONObject body = new JSONObject()
+                        .put("name", "ApiJourney")
+                        .put("parameters", new JSONObject()
+                                .put("uuid", "<id>")
+                                .put("timestamp", 1700000000.125)
+                                .put("journey", new JSONArray()
+                                        .put(new JSONObject().put("category", "Feature").put("count", 3))
+                                        .put(new JSONObject().put("ok", true).put("none", JSONObject.NULL))
+                                        .put(new JSONArray().put(1).put(2L).put(1.5))));
+                assertEquals(body.toString(), streamed(body));
+            });
+            It("escapes strings like toString", () -> {
+                JSONObject body = new JSONObject()
+                        .put("quotes", "say \"hi\" \\ there")
+                        .put("controls", "a\tb\nc\rd\be\ff\u0001")
+                        .put("slash", "</script> and a/b")
+                        .put("ranges", "\u0085\u00a0\u2028\u2100")
+                        .put("text", "gr\u00fc\u00dfe \u4e16\u754c \ud83d\ude00");
+                assertEquals(body.toString(), streamed(body));
+            });
+            It("copies the constant fields of stock events", () -> {
+                JSONObject event = new Outcome(Template.outcome("Lead Capture", "success"), "Email \"x\"").at(1.5).toJson();
+                String written = streamed(event);
+                assertTrue(written.startsWith("{\"superOutcome\":\"Lead Capture\",\"result\":\"success\","));
+                assertTrue(event.similar(new JSONObject(written)));
+                assertEquals(event.toString().length(), written.length());
+            });
+            It("writes a stock event changed as json", () -> {
+                JSONObject event = new Outcome(Template.outcome("Lead Capture", "success"), "Email").at(1.5).toJson();
+                event.put("outcome", "Phone").put("price", "1");
+                JSONObject written = new JSONObject(streamed(event));
+                assertEquals("Phone", written.getString("outcome"));
+                assertEquals("1", written.getString("price"));
+                assertEquals("Lead Capture", written.getString("superOutcome"));
+            });
+            It("writes collections as arrays", () -> {
+                JSONObject body = new JSONObject().put("list", Arrays.asList("a", "b"));
+                assertEquals(body.toString(), streamed(body));
+            });
+            It("can be written again", () -> {
+                JsonBody body = new JsonBody(new JSONObject().put("a", 1));
+                Buffer buffer = new Buffer();
+                body.writeTo(buffer);
+                body.writeTo(buffer);
+                assertEquals("{\"a\":1}{\"a\":1}", buffer.readUtf8());
+            });
+        });
+    }
+}
@@ -21,12 +21,14 @@ import javax.net.ssl.*;
 import javax.security.cert.X509Certificate;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -46,6 +48,8 @@ public class JsonFetcherTest {
             AtomicReference<JSONObject> data = new AtomicReference<>(new JSONObject());
             BeforeEach(() -> {
                 data.get().put("url", "https://example.blah/");
+                CircuitBreaker.use(new CircuitBreaker());
+                InFlightLimit.use(InFlightLimit.unbounded());
             });
             AfterEach(() -> {
                 data.set(new JSONObject());
@@ -91,7 +95,7 @@ public class JsonFetcherTest {
                         when(response.body()).thenReturn(responseBody);
                         when(response.isSuccessful()).thenReturn(true);
                         when(response.code()).thenReturn(200);
-                        when(responseBody.string()).thenReturn("{\"response\":\"success\"}");
+                        when(responseBody.bytes()).thenReturn("{\"response\":\"success\"}".getBytes(StandardCharsets.UTF_8));
                     });
                     JustBeforeEach(() -> {
                         callback.get().onResponse(theCall, response);
@@ -131,9 +135,15 @@ public class JsonFetcherTest {
                             return new Json(err.getMessage());
                         });
                     });
-                    It("closes connection pool", () -> {
-                        verify(theService).shutdown();
-                        verify(thePool).evictAll();
+                    It("keeps the connection pool and dispatcher", () -> {
+                        verify(theService, never()).shutdown();
+                        verify(thePool, never()).evictAll();
+                    });
+                    It("counts toward opening the circuit", () -> {
+                        for (int i = 1; i < CircuitBreaker.configured().failureThreshold; i++) {
+                            CircuitBreaker.configured().failed("example.blah:443");
+                        }
+                        assertEquals(CircuitBreaker.State.OPEN, CircuitBreaker.configured().state("example.blah:443"));
                     });
                 });
                 Describe("when the request unauthorized", () -> {
@@ -156,6 +166,11 @@ public class JsonFetcherTest {
                             return new Json(err.getMessage());
                         });
                     });
+                    It("rejects with the status, not to be retried", () -> {
+                        Throwable err = assertThrows(Throwable.class, () -> completableFuture.get().join()).getCause();
+                        assertEquals(401, ((TransportException) err).status());
+                        assertFalse(((TransportException) err).retryable());
+                    });
                     Describe("when no body", () -> {
                         BeforeEach(() -> {
                             when(response.body()).thenReturn(null);
@@ -186,9 +201,9 @@ public class JsonFetcherTest {
                             return new Json(err.getMessage());
                         });
                     });
-                    It("closes connection pool", () -> {
-                        verify(theService).shutdown();
-                        verify(thePool).evictAll();
+                    It("keeps the connection pool and dispatcher", () -> {
+                        verify(theService, never()).shutdown();
+                        verify(thePool, never()).evictAll();
                     });
                 });
                 Describe("when the request generally errors", () -> {
@@ -211,6 +226,9 @@ public class JsonFetcherTest {
                             return new Json(err.getMessage());
                         });
                     });
+                    It("closes the response so its connection is not leaked", () -> {
+                        verify(response, atLeastOnce()).close();
+                    });
                     Describe("when no HTTP message", () -> {
                         BeforeEach(() -> {
                             when(response.message()).thenAnswer((invocation) -> {
@@ -235,7 +253,7 @@ public class JsonFetcherTest {
                         when(response.isSuccessful()).thenReturn(true);
                         when(response.code()).thenReturn(204);
                         when(response.message()).thenReturn("No Content");
-                        when(responseBody.string()).thenReturn("");
+                        when(responseBody.bytes()).thenReturn(new byte[0]);
                         callback.get().onResponse(theCall, response);
                     });
 
@@ -282,6 +300,39 @@ public class JsonFetcherTest {
                     }));
                 });
             });
+            Describe("when the response is discarded", () -> {
+                AtomicReference<Callback> callback = new AtomicReference<>();
+                AtomicReference<Request> request = new AtomicReference<>();
+                AtomicReference<CompletableFuture<Json>> completableFuture = new AtomicReference<>();
+                final Response response = mock(Response.class);
+                final Call theCall = mock(Call.class);
+                final Buffer source = new Buffer();
+                BeforeEach(() -> {
+                    data.get().put("method", "POST");
+                    data.get().put("discard-response", true);
+                    unit.set(new JsonFetcher(()->{return client;}));
+                    when(client.newCall(any())).thenAnswer(invocation -> {
+                        request.set((Request) invocation.getArguments()[0]);
+                        return enqueuer;
+                    });
+                    doAnswer(invocation -> {
+                        callback.set((Callback) invocation.getArguments()[0]);
+                        return null;
+                    }).when(enqueuer).enqueue(notNull());
+                    completableFuture.set(unit.get().fetch(data.get()));
+                    source.writeUtf8("{\"response\":\"success\"}");
+                    when(theCall.request()).thenReturn(request.get());
+                    when(response.body()).thenReturn(ResponseBody.create(source, MediaType.parse("application/json"), source.size()));
+                    when(response.isSuccessful()).thenReturn(true);
+                    when(response.code()).thenReturn(200);
+                    callback.get().onResponse(theCall, response);
+                });
+                It("then drains the body without keeping it", () -> {
+                    assertEquals(0, source.size());
+                    assertTrue(completableFuture.get().get().isDiscarded());
+                    assertEquals(0, completableFuture.get().get().size());
+                });
+            });
             Describe("when authorized fetch", () -> {
                 AtomicReference<Callback> callback = new AtomicReference<>();
                 AtomicReference<Request> request = new AtomicReference<>();
@@ -315,6 +366,64 @@ public class JsonFetcherTest {
                     }));
                 });
             });
+            Describe("when requests are over the in flight limit", () -> {
+                AtomicReference<Callback> callback = new AtomicReference<>();
+                AtomicReference<InFlightLimit> limit = new AtomicReference<>();
+                AtomicReference<CompletableFuture<Json>> first = new AtomicReference<>();
+                BeforeEach(() -> {
+                    data.get().put("method", "GET");
+                    unit.set(new JsonFetcher(()->{return client;}));
+                    when(client.newCall(any())).thenReturn(enqueuer);
+                    doAnswer(invocation -> {
+                        callback.set((Callback) invocation.getArguments()[0]);
+                        return null;
+                    }).when(enqueuer).enqueue(notNull());
+                    limit.set(new InFlightLimit(1, InFlightLimit.Policy.FAIL_FAST));
+                    InFlightLimit.use(limit.get());
+                    first.set(unit.get().fetch(data.get()));
+                });
+                AfterEach(() -> {
+                    InFlightLimit.use(InFlightLimit.unbounded());
+                });
+                It("then fails fast without sending", () -> {
+                    CompletableFuture<Json> second = unit.get().fetch(data.get());
+                    assertTrue(second.isCompletedExceptionally());
+                    assertFalse(first.get().isDone());
+                    verify(client, times(1)).newCall(any());
+                    assertEquals(1, limit.get().inFlight());
+                    assertEquals(1, limit.get().rejected());
+                    try {
+                        second.get();
+                    } catch (ExecutionException err) {
+                        assertTrue(err.getCause() instanceof InFlightLimit.Saturated);
+                        assertTrue(((TransportException) err.getCause()).retryable());
+                    }
+                });
+                It("then sends again once the request in flight completes", () -> {
+                    final Response response = mock(Response.class);
+                    final Call theCall = mock(Call.class);
+                    final ResponseBody responseBody = mock(ResponseBody.class);
+                    when(theCall.request()).thenReturn(new Request.Builder().url("https://example.blah/").build());
+                    when(response.body()).thenReturn(responseBody);
+                    when(response.code()).thenReturn(200);
+                    when(responseBody.bytes()).thenReturn("{}".getBytes(StandardCharsets.UTF_8));
+                    callback.get().onResponse(theCall, response);
+                    assertEquals(0, limit.get().inFlight());
+                    assertFalse(unit.get().fetch(data.get()).isDone());
+                    verify(client, times(2)).newCall(any());
+                });
+                Describe("when blocking", () -> {
+                    It("then waits for the timeout before failing", () -> {
+                        InFlightLimit blocking = new InFlightLimit(0, InFlightLimit.Policy.BLOCK, 20);
+                        InFlightLimit.use(blocking);
+                        long start = System.nanoTime();
+                        assertTrue(unit.get().fetch(data.get()).isCompletedExceptionally());
+                        assertTrue(System.nanoTime() - start >= 20000000L);
+                        assertEquals(0, blocking.waiting());
+                        assertEquals(1, blocking.rejected());
+                    });
+                });
+            });
             Describe("when self signed allowed fetch", () -> {
                 AtomicReference<Callback> callback = new AtomicReference<>();
                 AtomicReference<Request> request = new AtomicReference<>();
@@ -487,6 +596,15 @@ public class JsonFetcherTest {
                     It("then builds a new client", () -> {
                         verify(builder).build();
                     });
+                    Describe("when getting again", () -> {
+                        BeforeEach(() -> {
+                            unit.get().fetch(data.get());
+                        });
+                        It("then reuses the client it built", () -> {
+                            verify(builder, times(1)).build();
+                            verify(client, times(2)).newCall(any());
+                        });
+                    });
                 });
                 Describe("when getting with self signed ignored error", () -> {
                     BeforeEach(() -> {
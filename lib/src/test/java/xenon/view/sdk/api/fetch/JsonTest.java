@@ -8,6 +8,8 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.runner.RunWith;
 
+import java.nio.charset.StandardCharsets;
+
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static org.junit.Assert.*;
@@ -47,6 +49,45 @@ public class JsonTest {
                 JSONArray obj2 = json.to(JSONArray.class);
                 assertEquals("[]", obj2.toString());
             });
+            It("can be made from bytes", () -> {
+                Json json = new Json("{\"a\":\"\u00e9\"}".getBytes(StandardCharsets.UTF_8));
+                assertEquals("\u00e9", json.to(JSONObject.class).getString("a"));
+                assertEquals(10, json.size());
+            });
+            It("hands every caller the same json", () -> {
+                Json json = new Json("{\"a\":1}");
+                assertTrue(json.to(JSONObject.class).similar(json.to(JSONObject.class)));
+                Json array = new Json("[1]".getBytes(StandardCharsets.UTF_8));
+                assertTrue(array.to(JSONArray.class).similar(array.to(JSONArray.class)));
+            });
+            It("is not changed by a caller changing what it got", () -> {
+                Json json = new Json("{\"a\":{\"b\":[1]}}");
+                JSONObject first = json.to(JSONObject.class);
+                first.put("c", 2);
+                first.getJSONObject("a").getJSONArray("b").put(3);
+                assertEquals("{\"a\":{\"b\":[1]}}", json.to(JSONObject.class).toString());
+                Json array = new Json("[{\"a\":1}]");
+                array.to(JSONArray.class).getJSONObject(0).remove("a");
+                assertEquals(1, array.to(JSONArray.class).getJSONObject(0).getInt("a"));
+                Json.discarded().to(JSONObject.class).put("a", 1);
+                assertEquals("{}", Json.discarded().to(JSONObject.class).toString());
+            });
+            It("can stream the bytes", () -> {
+                Json json = new Json("[1,2]");
+                byte[] read = new byte[16];
+                assertEquals(5, json.stream().read(read));
+                assertEquals("[1,2]", new String(read, 0, 5, StandardCharsets.UTF_8));
+                char[] chars = new char[16];
+                assertEquals(5, json.reader().read(chars));
+                assertEquals(5, json.size());
+            });
+            It("can be discarded", () -> {
+                Json json = Json.discarded();
+                assertTrue(json.isDiscarded());
+                assertFalse(new Json("").isDiscarded());
+                assertEquals("", json.toString());
+                assertEquals("{}", json.to(JSONObject.class).toString());
+            });
             It("can foreign type", () -> {
                 Json json = new Json("");
                 Object obj = json.to(Object.class);
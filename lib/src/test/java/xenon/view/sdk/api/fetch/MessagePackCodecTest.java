@@ -0,0 +1,82 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * MessagePackCodecTest.js
+ * <p>
+ * Testing: MessagePack request bodies, against the examples of the specification.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okio.Buffer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class MessagePackCodecTest {
+    static String hex(Object value) throws Exception {
+        Buffer buffer = new Buffer();
+        new MessagePackCodec().write(buffer, value);
+        return buffer.readByteString().hex();
+    }
+
+    static String repeat(char c, int times) {
+        StringBuilder repeated = new StringBuilder();
+        for (int i = 0; i < times; i++) repeated.append(c);
+        return repeated.toString();
+    }
+
+    {
+        Describe("MessagePackCodec", () -> {
+            It("is application/msgpack", () -> {
+                assertEquals("application/msgpack", new MessagePackCodec().mediaType().toString());
+            });
+            It("writes positive integers in the smallest form", () -> {
+                assertEquals("00", hex(0));
+                assertEquals("7f", hex(127));
+                assertEquals("cc80", hex(128));
+                assertEquals("cd0100", hex(256));
+                assertEquals("ce00010000", hex(65536));
+                assertEquals("cf0000000100000000", hex(4294967296L));
+            });
+            It("writes negative integers in the smallest form", () -> {
+                assertEquals("ff", hex(-1));
+                assertEquals("e0", hex(-32));
+                assertEquals("d0df", hex(-33));
+                assertEquals("d1ff7f", hex(-129));
+                assertEquals("d2ffff7fff", hex(-32769));
+                assertEquals("d3ffffffff7fffffff", hex(-2147483649L));
+            });
+            It("writes doubles as float64", () -> {
+                assertEquals("cb3ff199999999999a", hex(1.1));
+            });
+            It("writes simple values", () -> {
+                assertEquals("c0", hex(JSONObject.NULL));
+                assertEquals("c2", hex(false));
+                assertEquals("c3", hex(true));
+            });
+            It("writes strings with their utf-8 length", () -> {
+                assertEquals("a0", hex(""));
+                assertEquals("a161", hex("a"));
+                assertEquals("a2c3bc", hex("\u00fc"));
+                assertTrue(hex(repeat('a', 32)).startsWith("d920"));
+                assertTrue(hex(repeat('a', 256)).startsWith("da0100"));
+            });
+            It("writes arrays and maps", () -> {
+                assertEquals("90", hex(new JSONArray()));
+                assertEquals("93010203", hex(new JSONArray().put(1).put(2).put(3)));
+                assertEquals("80", hex(new JSONObject()));
+                assertEquals("81a16101", hex(new JSONObject().put("a", 1)));
+                JSONArray sixteen = new JSONArray();
+                for (int i = 0; i < 16; i++) sixteen.put(0);
+                assertTrue(hex(sixteen).startsWith("dc0010"));
+            });
+        });
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * RetriesTest.js
+ * <p>
+ * Testing: Process wide retry policies per endpoint, sharing one retry budget.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RetriesTest {
+    {
+        Describe("Retries", () -> {
+            It("retries the api endpoints by default", () -> {
+                assertEquals(4, Retries.defaults().policy("journey").maxAttempts);
+                assertEquals(4, Retries.defaults().policy("heartbeat").maxAttempts);
+                assertEquals(3, Retries.defaults().policy("deanonymize").maxAttempts);
+            });
+            It("does not retry unknown endpoints", () -> {
+                assertEquals(1, Retries.defaults().policy("other").maxAttempts);
+                assertEquals(1, Retries.defaults().policy(null).maxAttempts);
+            });
+            It("retries only transient statuses", () -> {
+                for (int status : new int[]{408, 429, 500, 502, 503, 504}) assertTrue(TransportException.retryable(status));
+                for (int status : new int[]{200, 400, 401, 413, 415, 501}) assertFalse(TransportException.retryable(status));
+            });
+            Describe("when fetching", () -> {
+                AtomicReference<StubCollector> collector = new AtomicReference<>(null);
+                AtomicReference<Retries> unit = new AtomicReference<>(null);
+                AtomicReference<Runnable> fetch = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    collector.set(new StubCollector());
+                    unit.set(new Retries(new RetryBudget(0.2, 10)).policy("journey", RetryPolicy.exponential(3, 10, 100)));
+                    Retries.use(unit.get());
+                    fetch.set(() -> {
+                        JSONObject data = new JSONObject()
+                                .put("url", collector.get().url())
+                                .put("method", "POST")
+                                .put("endpoint", "journey")
+                                .put("body", new JSONObject());
+                        try {
+                            new JsonFetcher().fetch(data).get(10, TimeUnit.SECONDS);
+                        } catch (ExecutionException err) {
+                            throw new IllegalStateException(err.getCause());
+                        } catch (Exception err) {
+                            throw new RuntimeException(err);
+                        }
+                    });
+                });
+                AfterEach(() -> {
+                    Retries.use(Retries.defaults());
+                    collector.get().close();
+                });
+                It("then sends again after a transient failure", () -> {
+                    collector.get().statuses.addAll(Arrays.asList(503, 502));
+                    fetch.get().run();
+                    assertEquals(3, collector.get().methods.size());
+                    assertEquals(2, unit.get().retries());
+                });
+                It("then gives up after the last attempt", () -> {
+                    collector.get().statuses.addAll(Arrays.asList(503, 503, 503, 503));
+                    assertThrows(IllegalStateException.class, () -> fetch.get().run());
+                    assertEquals(3, collector.get().methods.size());
+                });
+                It("then waits out Retry-After", () -> {
+                    collector.get().statuses.add(429);
+                    collector.get().retryAfter = "0";
+                    fetch.get().run();
+                    assertEquals(2, collector.get().methods.size());
+                });
+                It("then leaves a Retry-After longer than the policy to a later commit", () -> {
+                    collector.get().statuses.add(503);
+                    collector.get().retryAfter = "120";
+                    assertThrows(IllegalStateException.class, () -> fetch.get().run());
+                    assertEquals(1, collector.get().methods.size());
+                });
+                It("then does not retry a client error", () -> {
+                    collector.get().statuses.add(400);
+                    assertThrows(IllegalStateException.class, () -> fetch.get().run());
+                    assertEquals(1, collector.get().methods.size());
+                });
+                It("then stops retrying once over budget", () -> {
+                    Retries.use(new Retries(new RetryBudget(0.2, 1)).policy("journey", RetryPolicy.exponential(3, 10, 100)));
+                    collector.get().statuses.addAll(Arrays.asList(503, 503, 503));
+                    assertThrows(IllegalStateException.class, () -> fetch.get().run());
+                    assertEquals(2, collector.get().methods.size());
+                    assertEquals(1, Retries.configured().overBudget());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * RetryBudgetTest.js
+ * <p>
+ * Testing: Process wide cap on retries as a fraction of the requests sent.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RetryBudgetTest {
+    static int allowed(RetryBudget budget, int requests) {
+        int retries = 0;
+        for (int i = 0; i < requests; i++) {
+            budget.sent();
+            if (budget.withdraw()) retries++;
+        }
+        return retries;
+    }
+
+    {
+        Describe("RetryBudget", () -> {
+            It("starts with the reserve", () -> {
+                RetryBudget unit = new RetryBudget(0.1, 2);
+                assertTrue(unit.withdraw());
+                assertTrue(unit.withdraw());
+                assertFalse(unit.withdraw());
+            });
+            It("keeps retries to the ratio of traffic once the reserve is spent", () -> {
+                int retries = allowed(new RetryBudget(0.2, 10), 1000);
+                assertTrue(retries >= 200);
+                assertTrue(retries <= 10 + 200);
+            });
+            It("does not save up past the reserve", () -> {
+                RetryBudget unit = new RetryBudget(0.5, 1);
+                for (int i = 0; i < 100; i++) unit.sent();
+                assertTrue(unit.withdraw());
+                assertFalse(unit.withdraw());
+            });
+        });
+    }
+}
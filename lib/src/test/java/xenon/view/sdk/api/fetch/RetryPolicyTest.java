@@ -0,0 +1,48 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * RetryPolicyTest.js
+ * <p>
+ * Testing: How often and how far apart a request to one endpoint is retried.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RetryPolicyTest {
+    {
+        Describe("RetryPolicy", () -> {
+            final RetryPolicy unit = RetryPolicy.exponential(4, 1000, 5000);
+            It("doubles the cap with every attempt", () -> {
+                assertEquals(999, unit.delay(1, -1, 0.999));
+                assertEquals(1998, unit.delay(2, -1, 0.999));
+                assertEquals(3996, unit.delay(3, -1, 0.999));
+            });
+            It("jitters down to nothing", () -> {
+                assertEquals(0, unit.delay(3, -1, 0.0));
+            });
+            It("never waits longer than the maximum", () -> {
+                RetryPolicy many = RetryPolicy.exponential(100, 1000, 5000);
+                assertEquals(4995, many.delay(4, -1, 0.999));
+                assertEquals(4995, many.delay(99, -1, 0.999));
+            });
+            It("stops after the last attempt", () -> {
+                assertEquals(-1, unit.delay(4, -1, 0.5));
+                assertEquals(-1, RetryPolicy.none().delay(1, -1, 0.5));
+            });
+            It("waits out a Retry-After", () -> {
+                assertEquals(3000, unit.delay(1, 3000, 0.5));
+            });
+            It("does not retry when Retry-After is longer than the maximum", () -> {
+                assertEquals(-1, unit.delay(1, 6000, 0.5));
+            });
+        });
+    }
+}
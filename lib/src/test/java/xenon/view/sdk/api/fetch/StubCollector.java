@@ -0,0 +1,125 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * StubCollector.java
+ * <p>
+ * Local stand-in for the Xenon View collector that records, decompresses and expands what it is sent,
+ * and answers batches with a result per session.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import xenon.view.sdk.journey.Dictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class StubCollector implements AutoCloseable {
+    private final HttpServer server;
+    // Sent back as Accept-Post, null for none.
+    volatile String acceptPost;
+    // Content types answered with 415.
+    final List<String> unsupported = Collections.synchronizedList(new ArrayList<>());
+    final List<String> contentTypes = Collections.synchronizedList(new ArrayList<>());
+    final List<String> methods = Collections.synchronizedList(new ArrayList<>());
+    // Answered in order, with retryAfter when it is set, before the usual status.
+    public final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    volatile String retryAfter;
+    volatile String encoding;
+    volatile String length;
+    volatile byte[] bytes;
+    // Per session status of a batch, 200 when not set; 0 leaves the session out of the answer.
+    public final Map<String, Integer> sessionStatuses = new ConcurrentHashMap<>();
+    public final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+
+    public StubCollector() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            methods.add(exchange.getRequestMethod());
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            final String contentType = exchange.getRequestHeaders().getFirst("content-type");
+            contentTypes.add(contentType);
+            encoding = exchange.getRequestHeaders().getFirst("content-encoding");
+            length = exchange.getRequestHeaders().getFirst("content-length");
+            InputStream in = exchange.getRequestBody();
+            if ("gzip".equals(encoding)) in = new GZIPInputStream(in);
+            if ("deflate".equals(encoding)) in = new InflaterInputStream(in);
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            for (int n; (n = in.read(chunk)) > 0; ) read.write(chunk, 0, n);
+            bytes = read.toByteArray();
+            if (acceptPost != null) exchange.getResponseHeaders().add("accept-post", acceptPost);
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            if (exchange.getRequestURI().getPath().equals("/batch")) response = batch();
+            Integer status = statuses.poll();
+            if (status != null && retryAfter != null) exchange.getResponseHeaders().add("retry-after", retryAfter);
+            if (status == null) status = unsupported.contains(contentType) ? 415 : 200;
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    private byte[] batch() {
+        batches.add(body());
+        JSONArray sessions = new JSONObject(body()).getJSONObject("parameters").getJSONArray("sessions");
+        JSONObject results = new JSONObject();
+        for (int i = 0; i < sessions.length(); i++) {
+            String uuid = sessions.getJSONObject(i).getString("uuid");
+            int status = sessionStatuses.getOrDefault(uuid, 200);
+            if (status == 0) continue;
+            JSONObject result = new JSONObject().put("status", status);
+            if (status >= 300) result.put("message", "Refused " + uuid);
+            results.put(uuid, result);
+        }
+        return new JSONObject().put("sessions", results).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String root() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    String url() {
+        return root() + "/journey";
+    }
+
+    public String body() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The JSON body with a dictionary encoded journey put back the way it was.
+    public JSONObject expanded() {
+        JSONObject body = new JSONObject(body());
+        JSONObject parameters = body.getJSONObject("parameters");
+        if (!parameters.has("dictionary")) return body;
+        Dictionary.expand(parameters.getJSONArray("journey"), parameters.getJSONObject("dictionary"));
+        parameters.remove("dictionary");
+        return body;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
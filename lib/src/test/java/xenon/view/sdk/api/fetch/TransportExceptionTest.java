@@ -0,0 +1,42 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * TransportExceptionTest.js
+ * <p>
+ * Testing: Failed request with the status the collector answered and whether sending it again can help.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class TransportExceptionTest {
+    {
+        Describe("TransportException", () -> {
+            It("keeps the status and message", () -> {
+                TransportException unit = new TransportException(413, "Payload Too Large");
+                assertEquals(413, unit.status());
+                assertEquals("Payload Too Large", unit.getMessage());
+            });
+            It("is retryable without an answer, when throttled and on transient server errors", () -> {
+                for (int status : new int[]{0, 408, 429, 500, 502, 503, 504}) {
+                    assertTrue(new TransportException(status, "").retryable());
+                }
+            });
+            It("is terminal for any other status", () -> {
+                for (int status : new int[]{400, 401, 403, 404, 413, 422, 501, 505}) {
+                    assertFalse(new TransportException(status, "").retryable());
+                }
+            });
+            It("is retryable when the circuit is open", () -> {
+                assertTrue(new CircuitBreaker.Open("127.0.0.1:1").retryable());
+            });
+        });
+    }
+}
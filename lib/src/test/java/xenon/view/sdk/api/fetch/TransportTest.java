@@ -0,0 +1,92 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * TransportTest.js
+ * <p>
+ * Testing: Process wide HTTP transport shared by all fetchers.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class TransportTest {
+    {
+        Describe("Transport", () -> {
+            AtomicReference<OkHttpClient> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                Transport.close();
+                unit.set(Transport.client());
+            });
+            AfterEach(() -> {
+                Transport.close();
+            });
+            It("starts on first use", () -> {
+                assertTrue(Transport.started());
+                assertNotNull(unit.get());
+            });
+            It("hands out the same client", () -> {
+                assertSame(unit.get(), Transport.client());
+            });
+            It("ignores start when already started", () -> {
+                Transport.start(new OkHttpClient.Builder());
+                assertSame(unit.get(), Transport.client());
+            });
+            Describe("when fetchers are constructed", () -> {
+                It("then every fetcher reuses the shared client", () -> {
+                    new JsonFetcher();
+                    new JsonFetcher();
+                    assertSame(unit.get(), Transport.client());
+                });
+                It("then every fetcher trusts self signed certificates through one client", () -> {
+                    OkHttpClient trusting = new JsonFetcher().trusting();
+                    assertNotSame(unit.get(), trusting);
+                    assertSame(trusting, new JsonFetcher().trusting());
+                    assertSame(unit.get().connectionPool(), trusting.connectionPool());
+                });
+            });
+            Describe("when closed", () -> {
+                BeforeEach(() -> {
+                    Transport.close();
+                });
+                It("then stops the dispatcher", () -> {
+                    assertFalse(Transport.started());
+                    assertTrue(unit.get().dispatcher().executorService().isShutdown());
+                });
+                It("then starts a new client on next use", () -> {
+                    assertNotSame(unit.get(), Transport.client());
+                });
+                It("then trusts through a client derived from the new one", () -> {
+                    OkHttpClient trusting = new JsonFetcher().trusting();
+                    assertSame(Transport.client().connectionPool(), trusting.connectionPool());
+                    assertNotSame(unit.get().connectionPool(), trusting.connectionPool());
+                });
+                Describe("when started again", () -> {
+                    It("then a fetcher made before the close still commits", () -> {
+                        JsonFetcher fetcher = new JsonFetcher();
+                        try (StubCollector collector = new StubCollector()) {
+                            Transport.close();
+                            Transport.start();
+                            JSONObject data = new JSONObject()
+                                    .put("url", collector.url())
+                                    .put("method", "POST")
+                                    .put("body", new JSONObject().put("name", "ApiJourney"));
+                            assertEquals("{}", fetcher.fetch(data).get(5, TimeUnit.SECONDS).toString());
+                        }
+                    });
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * TrustAllTest.js
+ * <p>
+ * Testing: Process wide TLS context that accepts self signed collector certificates.
+ */
+package xenon.view.sdk.api.fetch;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import okhttp3.OkHttpClient;
+import org.junit.runner.RunWith;
+
+import java.security.cert.X509Certificate;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class TrustAllTest {
+    {
+        Describe("TrustAll", () -> {
+            It("builds the socket factory once", () -> {
+                assertNotNull(TrustAll.socketFactory());
+                assertSame(TrustAll.socketFactory(), TrustAll.socketFactory());
+            });
+            It("trusts any chain", () -> {
+                X509Certificate[] chain = new X509Certificate[]{};
+                TrustAll.trustManager.checkServerTrusted(chain, "RSA");
+                TrustAll.trustManager.checkClientTrusted(chain, "RSA");
+                assertEquals(0, TrustAll.trustManager.getAcceptedIssuers().length);
+            });
+            It("accepts any hostname", () -> {
+                assertTrue(TrustAll.hostnameVerifier.verify("collector.staging", null));
+            });
+            Describe("when deriving clients", () -> {
+                final OkHttpClient base = new OkHttpClient();
+                It("then they share the pool, the dispatcher and the TLS setup", () -> {
+                    OkHttpClient first = TrustAll.client(base.newBuilder());
+                    OkHttpClient second = TrustAll.client(base.newBuilder());
+                    assertNotSame(first, second);
+                    assertSame(first.connectionPool(), second.connectionPool());
+                    assertSame(first.dispatcher(), second.dispatcher());
+                    assertSame(first.sslSocketFactory(), second.sslSocketFactory());
+                    assertSame(first.hostnameVerifier(), second.hostnameVerifier());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * DeadLettersTest.js
+ * <p>
+ * Testing: Bounded store of journeys the collector rejected for good.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class DeadLettersTest {
+    static JSONArray journey(int events) {
+        JSONArray journey = new JSONArray();
+        for (int i = 0; i < events; i++) journey.put(new Milestone("Feature", "Attempted").name("f" + i).toJson());
+        return journey;
+    }
+
+    {
+        Describe("DeadLetters", () -> {
+            AtomicReference<DeadLetters> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new DeadLetters(10));
+            });
+            It("keeps rejected journeys with why they were rejected", () -> {
+                JSONArray journey = journey(3);
+                unit.get().add(journey, 400, "bad");
+                List<DeadLetters.Letter> letters = unit.get().drain();
+                assertSame(journey, letters.get(0).journey);
+                assertEquals(400, letters.get(0).status);
+                assertEquals("bad", letters.get(0).reason);
+                assertEquals(0, unit.get().events());
+            });
+            It("evicts the oldest letters past the bound", () -> {
+                unit.get().add(journey(4), 400, "first");
+                unit.get().add(journey(4), 400, "second");
+                unit.get().add(journey(4), 413, "third");
+                assertEquals(2, unit.get().size());
+                assertEquals(8, unit.get().events());
+                assertEquals(4, unit.get().evicted());
+                assertEquals("second", unit.get().drain().get(0).reason);
+            });
+            It("does not keep a journey larger than the bound", () -> {
+                unit.get().add(journey(11), 413, "huge");
+                assertEquals(0, unit.get().size());
+                assertEquals(11, unit.get().evicted());
+            });
+        });
+    }
+}
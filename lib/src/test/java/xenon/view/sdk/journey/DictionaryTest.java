@@ -0,0 +1,81 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * DictionaryTest.js
+ * <p>
+ * Testing: Batch encoding that sends each distinct platform and tag set once.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class DictionaryTest {
+    static JSONArray journey(JSONObject platform, JSONArray tags, int outcomes) {
+        JSONArray journey = new JSONArray();
+        for (int i = 0; i < outcomes; i++) {
+            journey.put(new Outcome(Template.outcome("Lead Capture", "success"), "Email " + i)
+                    .platform(platform).tags(tags).at(i).toJson());
+        }
+        return journey;
+    }
+
+    {
+        Describe("Dictionary", () -> {
+            final JSONObject platform = new JSONObject().put("softwareVersion", "5.1.5");
+            final JSONArray tags = new JSONArray().put("variant-A");
+            It("is off by default", () -> {
+                assertFalse(Dictionary.used());
+            });
+            It("leaves a journey without platform or tags as it is", () -> {
+                JSONArray journey = new JSONArray().put(new Milestone("Feature", "Attempted").toJson());
+                JSONObject dictionary = new JSONObject();
+                assertSame(journey, Dictionary.encode(journey, dictionary));
+                assertEquals(0, dictionary.length());
+            });
+            It("sends each distinct value once", () -> {
+                JSONArray journey = journey(platform, tags, 500);
+                journey.put(new Outcome("Referral", "Share", "success").platform(new JSONObject().put("softwareVersion", "6")).toJson());
+                JSONObject dictionary = new JSONObject();
+                JSONArray encoded = Dictionary.encode(journey, dictionary);
+                assertEquals(2, dictionary.getJSONArray("platform").length());
+                assertEquals(1, dictionary.getJSONArray("tags").length());
+                assertEquals(0, encoded.getJSONObject(499).getInt("platform"));
+                assertEquals(1, encoded.getJSONObject(500).getInt("platform"));
+                assertFalse(encoded.getJSONObject(500).has("tags"));
+            });
+            It("shares an entry between equal copies", () -> {
+                JSONArray journey = journey(platform, tags, 1);
+                journey.put(new Outcome("Referral", "Share", "success").platform(new JSONObject(platform.toString())).toJson());
+                JSONObject dictionary = new JSONObject();
+                Dictionary.encode(journey, dictionary);
+                assertEquals(1, dictionary.getJSONArray("platform").length());
+            });
+            It("does not change the journey", () -> {
+                JSONArray journey = journey(platform, tags, 3);
+                String before = journey.toString();
+                Dictionary.encode(journey, new JSONObject());
+                assertEquals(before, journey.toString());
+            });
+            It("keeps stock events templated", () -> {
+                JSONArray encoded = Dictionary.encode(journey(platform, tags, 1), new JSONObject());
+                assertTrue(encoded.get(0) instanceof Template.Json);
+            });
+            It("expands back to the same journey", () -> {
+                JSONArray journey = journey(platform, tags, 20);
+                JSONObject dictionary = new JSONObject();
+                JSONArray sent = new JSONArray(Dictionary.encode(journey, dictionary).toString());
+                JSONArray expanded = Dictionary.expand(sent, new JSONObject(dictionary.toString()));
+                assertTrue(journey.similar(expanded));
+            });
+        });
+    }
+}
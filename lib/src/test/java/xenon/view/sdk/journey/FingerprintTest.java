@@ -0,0 +1,83 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * FingerprintTest.js
+ * <p>
+ * Testing: Precomputed identity hash of a journey event.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class FingerprintTest {
+    static JSONObject feature(String action, String name) {
+        return new JSONObject().put("category", "Feature").put("action", action).put("name", name);
+    }
+
+    static JSONObject content(String action, String type) {
+        return new JSONObject().put("category", "Content").put("action", action).put("type", type);
+    }
+
+    static JSONObject milestone(String name, String details) {
+        return new JSONObject().put("category", "Custom").put("action", "Hit").put("name", name).put("details", details);
+    }
+
+    {
+        Describe("Fingerprint", () -> {
+            Describe("of", () -> {
+                It("is the same for the same identity", () -> {
+                    assertEquals(Fingerprint.of(feature("Attempted", "a")), Fingerprint.of(feature("Attempted", "a")));
+                    assertEquals(Fingerprint.of(milestone("a", "1")), Fingerprint.of(milestone("a", "1")));
+                });
+                It("ignores the timestamp", () -> {
+                    assertEquals(Fingerprint.of(feature("Attempted", "a").put("timestamp", 1.0)),
+                            Fingerprint.of(feature("Attempted", "a").put("timestamp", 2.0)));
+                });
+                It("differs by action and name", () -> {
+                    assertNotEquals(Fingerprint.of(feature("Attempted", "a")), Fingerprint.of(feature("Completed", "a")));
+                    assertNotEquals(Fingerprint.of(feature("Attempted", "a")), Fingerprint.of(feature("Attempted", "b")));
+                });
+                It("differs by milestone details", () -> {
+                    assertNotEquals(Fingerprint.of(milestone("a", "1")), Fingerprint.of(milestone("a", "2")));
+                });
+                It("leaves the optional content fields to confirmation", () -> {
+                    assertEquals(Fingerprint.of(content("Viewed", "Blog")),
+                            Fingerprint.of(content("Viewed", "Blog").put("identifier", "id")));
+                });
+            });
+            Describe("confirms", () -> {
+                It("confirms duplicate features", () -> {
+                    assertTrue(Fingerprint.confirms(feature("Attempted", "a"), feature("Attempted", "a")));
+                });
+                It("rejects events without a category", () -> {
+                    assertFalse(Fingerprint.confirms(new JSONObject().put("test", "1"), new JSONObject().put("test", "1")));
+                });
+                It("rejects events without an action", () -> {
+                    assertFalse(Fingerprint.confirms(new JSONObject().put("category", "1"), new JSONObject().put("category", "1")));
+                });
+                It("rejects keys the last event does not have", () -> {
+                    assertFalse(Fingerprint.confirms(feature("Attempted", "a"), feature("Attempted", "a").put("details", "d")));
+                });
+                It("treats content without an identifier as a duplicate", () -> {
+                    assertTrue(Fingerprint.confirms(content("Viewed", "Blog").put("identifier", "id"), content("Viewed", "Blog")));
+                });
+                It("rejects content with a different identifier", () -> {
+                    assertFalse(Fingerprint.confirms(content("Viewed", "Blog").put("identifier", "1"),
+                            content("Viewed", "Blog").put("identifier", "2")));
+                });
+                It("rejects milestones with different details", () -> {
+                    assertFalse(Fingerprint.confirms(milestone("a", "1"), milestone("a", "2")));
+                    assertTrue(Fingerprint.confirms(milestone("a", "1"), milestone("a", "1")));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JournalTest.js
+ * <p>
+ * Testing: Memory-mapped write-ahead journal of buffered events.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class JournalTest {
+    static Milestone event(String name) {
+        return new Milestone("Feature", "Attempted").name(name);
+    }
+
+    {
+        Describe("Journal", () -> {
+            AtomicReference<File> path = new AtomicReference<>(null);
+            AtomicReference<Journal> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                path.set(File.createTempFile("journey", ".journal"));
+                path.get().delete();
+                unit.set(new Journal(path.get(), 4096));
+            });
+            AfterEach(() -> {
+                unit.get().close();
+                path.get().delete();
+            });
+            It("starts empty", () -> {
+                assertEquals(0, unit.get().replay().size());
+                assertEquals(0, unit.get().lastEpoch());
+            });
+            Describe("when reopened after appends", () -> {
+                BeforeEach(() -> {
+                    unit.get().append(1, event("a").at(1.5));
+                    unit.get().append(1, new Outcome("Lead Capture", "Email", "success")
+                            .platform(new JSONObject().put("os", "test"))
+                            .tags(new JSONArray().put("v1")));
+                    unit.get().append(2, Milestone.custom("Custom", "Hit").name("\u00fc").details("d"));
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                });
+                It("then replays every event in order", () -> {
+                    List<Event> replay = unit.get().replay();
+                    assertEquals(3, replay.size());
+                    JSONObject first = replay.get(0).toJson();
+                    assertEquals("a", first.getString("name"));
+                    assertEquals(1.5, first.getDouble("timestamp"), 0.0);
+                    JSONObject outcome = replay.get(1).toJson();
+                    assertEquals("Email", outcome.getString("outcome"));
+                    assertEquals("test", outcome.getJSONObject("platform").getString("os"));
+                    assertEquals("v1", outcome.getJSONArray("tags").getString(0));
+                    assertEquals("\u00fc", replay.get(2).toJson().getString("name"));
+                    assertFalse(replay.get(2).toJson().has("type"));
+                });
+                It("then continues after the last epoch", () -> {
+                    assertEquals(2, unit.get().lastEpoch());
+                });
+            });
+            Describe("when an epoch is committed", () -> {
+                It("then does not replay it", () -> {
+                    unit.get().append(1, event("a"));
+                    unit.get().append(2, event("b"));
+                    unit.get().commit(Collections.singleton(1L));
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertEquals(1, unit.get().replay().size());
+                    assertEquals("b", unit.get().replay().get(0).toJson().getString("name"));
+                });
+            });
+            Describe("when the last frame is torn", () -> {
+                It("then replays up to it", () -> {
+                    unit.get().append(1, event("a"));
+                    int end = unit.get().size();
+                    unit.get().append(1, event("b"));
+                    unit.get().close();
+                    try (RandomAccessFile file = new RandomAccessFile(path.get(), "rw")) {
+                        file.seek(end + 12);
+                        file.write(0x55);
+                    }
+                    unit.set(new Journal(path.get(), 4096));
+                    assertEquals(1, unit.get().replay().size());
+                    assertEquals(end, unit.get().size());
+                });
+            });
+            Describe("when full", () -> {
+                It("then compacts committed epochs away", () -> {
+                    for (long epoch = 1; epoch <= 200; epoch++) {
+                        unit.get().append(epoch, event("e" + epoch));
+                        if (epoch != 3) unit.get().commit(Collections.singleton(epoch));
+                    }
+                    assertEquals(0, unit.get().overflows());
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertEquals(1, unit.get().replay().size());
+                    assertEquals("e3", unit.get().replay().get(0).toJson().getString("name"));
+                });
+                It("then replaces the journal only with a complete copy", () -> {
+                    File sibling = new File(path.get().getPath() + ".compact");
+                    for (long epoch = 1; epoch <= 200; epoch++) {
+                        unit.get().append(epoch, event("e" + epoch));
+                        if (epoch != 3) unit.get().commit(Collections.singleton(epoch));
+                    }
+                    assertFalse(sibling.exists());
+                    unit.get().append(201, event("e201"));
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertEquals(2, unit.get().replay().size());
+                });
+                It("then ignores a copy left by a crash while compacting", () -> {
+                    unit.get().append(1, event("a"));
+                    unit.get().close();
+                    File sibling = new File(path.get().getPath() + ".compact");
+                    try (RandomAccessFile torn = new RandomAccessFile(sibling, "rw")) {
+                        torn.writeInt(12);
+                        torn.writeInt(7);
+                    }
+                    unit.set(new Journal(path.get(), 4096));
+                    assertFalse(sibling.exists());
+                    assertEquals(1, unit.get().replay().size());
+                });
+                It("then counts events it cannot keep", () -> {
+                    for (long i = 0; i < 200; i++) unit.get().append(1, event("e" + i));
+                    assertTrue(unit.get().overflows() > 0);
+                });
+            });
+            Describe("when backing a journey buffer", () -> {
+                AtomicReference<JourneyBuffer> buffer = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    buffer.set(new JourneyBuffer(JourneyLimits.unbounded(), unit.get()));
+                    buffer.get().add(event("a"));
+                    buffer.get().add(event("a"));
+                    buffer.get().add(event("b"));
+                });
+                It("then brings back what was not committed", () -> {
+                    buffer.get().drain();
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    JourneyBuffer recovered = new JourneyBuffer(JourneyLimits.unbounded(), unit.get());
+                    JSONArray events = recovered.snapshot();
+                    assertEquals(2, events.length());
+                    assertEquals(2, events.getJSONObject(0).getInt("count"));
+                    assertEquals(2, recovered.events());
+                });
+                It("then forgets a committed batch", () -> {
+                    buffer.get().committed(buffer.get().drain());
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertTrue(new JourneyBuffer(JourneyLimits.unbounded(), unit.get()).isEmpty());
+                });
+                It("then commits restored events with the next batch", () -> {
+                    buffer.get().restore(buffer.get().drain());
+                    buffer.get().add(event("c"));
+                    buffer.get().committed(buffer.get().drain());
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertTrue(new JourneyBuffer(JourneyLimits.unbounded(), unit.get()).isEmpty());
+                });
+                It("then commits replayed events with the next batch", () -> {
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    JourneyBuffer recovered = new JourneyBuffer(JourneyLimits.unbounded(), unit.get());
+                    recovered.committed(recovered.drain());
+                    unit.get().close();
+                    unit.set(new Journal(path.get(), 4096));
+                    assertTrue(new JourneyBuffer(JourneyLimits.unbounded(), unit.get()).isEmpty());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,398 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * JourneyBufferTest.js
+ * <p>
+ * Testing: Lock-free multi-producer journey buffer.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class JourneyBufferTest {
+    static Milestone event(String name) {
+        return new Milestone("Feature", "Attempted").name(name);
+    }
+
+    // "a*2,b" for a journey of a counted twice followed by b
+    static String names(JSONArray events) {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < events.length(); i++) {
+            JSONObject event = events.getJSONObject(i);
+            if (i > 0) names.append(',');
+            names.append(event.has("name") ? event.getString("name") : event.getString("outcome"));
+            if (event.has("count")) names.append('*').append(event.getInt("count"));
+        }
+        return names.toString();
+    }
+
+    static int total(JSONArray events) {
+        int total = 0;
+        for (int i = 0; i < events.length(); i++) total += events.getJSONObject(i).optInt("count", 1);
+        return total;
+    }
+
+    {
+        Describe("JourneyBuffer", () -> {
+            AtomicReference<JourneyBuffer> unit = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                unit.set(new JourneyBuffer(JourneyLimits.unbounded()));
+            });
+            It("starts empty", () -> {
+                assertTrue(unit.get().isEmpty());
+                assertEquals("", names(unit.get().snapshot()));
+            });
+            It("keeps events in order", () -> {
+                unit.get().add(event("a"));
+                unit.get().add(event("b"));
+                assertFalse(unit.get().isEmpty());
+                assertEquals("a,b", names(unit.get().snapshot()));
+            });
+            It("counts consecutive duplicates", () -> {
+                unit.get().add(event("a"));
+                unit.get().add(event("a"));
+                unit.get().add(event("b"));
+                unit.get().add(event("a"));
+                assertEquals("a*2,b,a", names(unit.get().snapshot()));
+            });
+            It("serializes events with their timestamp", () -> {
+                unit.get().add(event("a").at(1.5));
+                assertEquals(1.5, unit.get().snapshot().getJSONObject(0).getDouble("timestamp"), 0.0);
+            });
+            It("keeps taking events while a drained batch is serialized", () -> {
+                CountDownLatch serializing = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                unit.get().add(new Milestone("Feature", "Attempted") {
+                    @Override
+                    public JSONObject toJson(int count) {
+                        serializing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException ignore) {
+                            // released anyway
+                        }
+                        return super.toJson(count);
+                    }
+                }.name("slow"));
+                AtomicReference<JSONArray> drained = new AtomicReference<>(null);
+                Thread drainer = new Thread(() -> drained.set(unit.get().drain()));
+                drainer.start();
+                serializing.await();
+                unit.get().add(event("a"));
+                assertEquals("a", names(unit.get().snapshot()));
+                release.countDown();
+                drainer.join();
+                assertEquals("slow", names(drained.get()));
+                assertEquals("a", names(unit.get().drain()));
+            });
+            Describe("when drained", () -> {
+                AtomicReference<JSONArray> drained = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    unit.get().add(event("a"));
+                    drained.set(unit.get().drain());
+                });
+                It("then hands out the events", () -> {
+                    assertEquals("a", names(drained.get()));
+                });
+                It("then is empty", () -> {
+                    assertTrue(unit.get().isEmpty());
+                });
+                It("then does not count into the drained batch", () -> {
+                    unit.get().add(event("a"));
+                    assertEquals("a", names(drained.get()));
+                    assertEquals("a", names(unit.get().snapshot()));
+                });
+                It("then leaves a rejected batch out and counts it", () -> {
+                    long before = JourneyMetrics.global().rejected();
+                    unit.get().rejected(drained.get());
+                    assertTrue(unit.get().isEmpty());
+                    assertEquals(1, JourneyMetrics.global().rejected() - before);
+                });
+                Describe("when restored", () -> {
+                    BeforeEach(() -> {
+                        unit.get().add(event("b"));
+                        unit.get().restore(drained.get());
+                    });
+                    It("then puts the batch in front", () -> {
+                        assertEquals("a,b", names(unit.get().snapshot()));
+                    });
+                    It("then keeps adding after it", () -> {
+                        unit.get().add(event("c"));
+                        assertEquals("a,b,c", names(unit.get().drain()));
+                        assertTrue(unit.get().isEmpty());
+                    });
+                    It("then accounts for the batch again", () -> {
+                        assertEquals(2, unit.get().events());
+                        assertEquals(2 * event("a").estimatedBytes(), unit.get().bytes());
+                    });
+                    It("then hands the same batch out again without copying it", () -> {
+                        JSONArray batch = unit.get().drain();
+                        assertSame(drained.get(), batch);
+                        assertEquals("a,b", names(batch));
+                        assertEquals(0, unit.get().bytes());
+                    });
+                    It("then survives failing again and again", () -> {
+                        for (int i = 0; i < 1000; i++) unit.get().restore(unit.get().drain());
+                        assertEquals("a,b", names(unit.get().snapshot()));
+                        assertEquals(2, unit.get().events());
+                    });
+                });
+            });
+            Describe("when bounded", () -> {
+                AtomicReference<JourneyMetrics> metrics = new AtomicReference<>(null);
+                BeforeEach(() -> {
+                    metrics.set(new JourneyMetrics());
+                });
+                Describe("when dropping the oldest", () -> {
+                    BeforeEach(() -> {
+                        unit.set(new JourneyBuffer(new JourneyLimits(2, Long.MAX_VALUE, JourneyLimits.Overflow.DROP_OLDEST)
+                                .metrics(metrics.get())));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(event("c"));
+                    });
+                    It("then keeps the newest events", () -> {
+                        assertEquals("b,c", names(unit.get().snapshot()));
+                        assertEquals(2, unit.get().events());
+                        assertEquals(1, metrics.get().droppedOldest());
+                    });
+                    It("then still counts into the last event", () -> {
+                        unit.get().add(event("c"));
+                        assertEquals("b,c*2", names(unit.get().snapshot()));
+                    });
+                    It("then trims a restored batch", () -> {
+                        JSONArray batch = unit.get().drain();
+                        assertEquals(0, unit.get().events());
+                        assertEquals(0, unit.get().bytes());
+                        unit.get().add(event("d"));
+                        unit.get().restore(batch);
+                        assertEquals("c,d", names(unit.get().snapshot()));
+                        assertEquals(2, metrics.get().droppedOldest());
+                    });
+                });
+                Describe("when dropping the newest", () -> {
+                    BeforeEach(() -> {
+                        unit.set(new JourneyBuffer(new JourneyLimits(2, Long.MAX_VALUE, JourneyLimits.Overflow.DROP_NEWEST)
+                                .metrics(metrics.get())));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(event("c"));
+                    });
+                    It("then keeps the oldest events", () -> {
+                        assertEquals("a,b", names(unit.get().snapshot()));
+                        assertEquals(1, metrics.get().droppedNewest());
+                    });
+                });
+                Describe("when dropping milestones first", () -> {
+                    BeforeEach(() -> {
+                        unit.set(new JourneyBuffer(new JourneyLimits(3, Long.MAX_VALUE, JourneyLimits.Overflow.DROP_MILESTONES_FIRST)
+                                .metrics(metrics.get())));
+                        unit.get().add(new Outcome("Lead Capture", "o1", "success"));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(new Outcome("Lead Capture", "o2", "success"));
+                    });
+                    It("then drops the oldest milestone", () -> {
+                        assertEquals("o1,b,o2", names(unit.get().snapshot()));
+                        assertEquals(1, metrics.get().droppedMilestones());
+                    });
+                    It("then keeps dropping milestones before outcomes", () -> {
+                        unit.get().add(event("c"));
+                        assertEquals("o1,o2,c", names(unit.get().snapshot()));
+                        assertEquals(2, metrics.get().droppedMilestones());
+                    });
+                    It("then drops the oldest when only the last event is a milestone", () -> {
+                        unit.get().add(event("c"));
+                        unit.get().add(new Outcome("Lead Capture", "o3", "success"));
+                        assertEquals("o2,c,o3", names(unit.get().snapshot()));
+                        assertEquals(1, metrics.get().droppedOldest());
+                    });
+                });
+                Describe("when capped by bytes", () -> {
+                    It("then drops to stay under the estimate", () -> {
+                        unit.set(new JourneyBuffer(new JourneyLimits(100, 2 * event("a").estimatedBytes(), JourneyLimits.Overflow.DROP_OLDEST)
+                                .metrics(metrics.get())));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(event("c"));
+                        assertEquals("b,c", names(unit.get().snapshot()));
+                        assertEquals(2 * event("a").estimatedBytes(), unit.get().bytes());
+                    });
+                });
+                Describe("when spilling to disk", () -> {
+                    AtomicReference<File> directory = new AtomicReference<>(null);
+                    BeforeEach(() -> {
+                        directory.set(Files.createTempDirectory("journey").toFile());
+                        unit.set(new JourneyBuffer(new JourneyLimits(2, Long.MAX_VALUE, JourneyLimits.Overflow.SPILL_TO_DISK)
+                                .spillTo(directory.get())
+                                .metrics(metrics.get())));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(event("c"));
+                    });
+                    AfterEach(() -> {
+                        for (File file : directory.get().listFiles()) file.delete();
+                        directory.get().delete();
+                    });
+                    It("then keeps the oldest on disk", () -> {
+                        assertEquals(2, unit.get().events());
+                        assertEquals(1, metrics.get().spilled());
+                        assertEquals(1, directory.get().listFiles().length);
+                    });
+                    It("then hands out every event in order", () -> {
+                        assertEquals("a,b,c", names(unit.get().snapshot()));
+                        assertEquals("a,b,c", names(unit.get().drain()));
+                        assertTrue(unit.get().isEmpty());
+                        assertEquals(0, directory.get().listFiles().length);
+                    });
+                });
+                Describe("when forcing a flush", () -> {
+                    List<JSONArray> flushed = new ArrayList<>();
+                    BeforeEach(() -> {
+                        flushed.clear();
+                        unit.set(new JourneyBuffer(new JourneyLimits(2, Long.MAX_VALUE, JourneyLimits.Overflow.FORCE_FLUSH)
+                                .metrics(metrics.get())));
+                        unit.get().flushWith(() -> flushed.add(unit.get().drain()));
+                        unit.get().add(event("a"));
+                        unit.get().add(event("b"));
+                        unit.get().add(event("c"));
+                    });
+                    It("then flushes what was buffered", () -> {
+                        assertEquals(1, flushed.size());
+                        assertEquals("a,b", names(flushed.get(0)));
+                        assertEquals("c", names(unit.get().snapshot()));
+                        assertEquals(1, metrics.get().forcedFlushes());
+                    });
+                    It("then drops the oldest while a flush does not go through", () -> {
+                        unit.get().flushWith(() -> {
+                        });
+                        unit.get().add(event("d"));
+                        unit.get().add(event("e"));
+                        unit.get().add(event("f"));
+                        assertEquals("e,f", names(unit.get().snapshot()));
+                        assertEquals(2, metrics.get().forcedFlushes());
+                        assertEquals(2, metrics.get().droppedOldest());
+                    });
+                });
+                Describe("when sharing a budget", () -> {
+                    It("then caps all buffers together", () -> {
+                        JourneyBudget budget = new JourneyBudget(3, Long.MAX_VALUE);
+                        JourneyLimits limits = new JourneyLimits(10, Long.MAX_VALUE, JourneyLimits.Overflow.DROP_NEWEST)
+                                .within(budget)
+                                .metrics(metrics.get());
+                        JourneyBuffer first = new JourneyBuffer(limits);
+                        JourneyBuffer second = new JourneyBuffer(limits);
+                        first.add(event("a"));
+                        first.add(event("b"));
+                        second.add(event("c"));
+                        second.add(event("d"));
+                        assertEquals(3, budget.events());
+                        assertEquals("c", names(second.snapshot()));
+                        first.drain();
+                        assertEquals(1, budget.events());
+                    });
+                });
+            });
+            Describe("when many threads add while draining", () -> {
+                final int producers = 8;
+                final int perProducer = 20000;
+                It("then loses no events and never counts across events", () -> {
+                    CountDownLatch start = new CountDownLatch(1);
+                    AtomicBoolean producing = new AtomicBoolean(true);
+                    List<Thread> threads = new ArrayList<>();
+                    for (int p = 0; p < producers; p++) {
+                        final int producer = p;
+                        threads.add(new Thread(() -> {
+                            try {
+                                start.await();
+                                for (int i = 0; i < perProducer; i++) {
+                                    // runs of duplicates interleaved across producers
+                                    unit.get().add(event("e" + ((producer + i / 3) % 4)));
+                                }
+                            } catch (Exception err) {
+                                throw new RuntimeException(err);
+                            }
+                        }));
+                    }
+                    List<JSONArray> batches = new ArrayList<>();
+                    Thread consumer = new Thread(() -> {
+                        while (producing.get()) {
+                            JSONArray batch = unit.get().drain();
+                            batches.add(batch);
+                            if (batch.length() % 7 == 3) unit.get().restore(batches.remove(batches.size() - 1));
+                        }
+                    });
+                    for (Thread thread : threads) thread.start();
+                    consumer.start();
+                    start.countDown();
+                    for (Thread thread : threads) thread.join();
+                    producing.set(false);
+                    consumer.join();
+                    batches.add(unit.get().drain());
+
+                    int seen = 0;
+                    for (JSONArray batch : batches) {
+                        seen += total(batch);
+                    }
+                    assertEquals(producers * perProducer, seen);
+                });
+                It("then collapses duplicates from every thread", () -> {
+                    List<Thread> threads = new ArrayList<>();
+                    for (int p = 0; p < producers; p++) {
+                        threads.add(new Thread(() -> {
+                            try {
+                                for (int i = 0; i < perProducer; i++) unit.get().add(event("same"));
+                            } catch (Exception err) {
+                                throw new RuntimeException(err);
+                            }
+                        }));
+                    }
+                    for (Thread thread : threads) thread.start();
+                    for (Thread thread : threads) thread.join();
+                    JSONArray events = unit.get().drain();
+                    assertEquals(1, events.length());
+                    assertEquals(producers * perProducer, events.getJSONObject(0).getInt("count"));
+                });
+                It("then never leaves two duplicates side by side", () -> {
+                    List<Thread> threads = new ArrayList<>();
+                    for (int p = 0; p < producers; p++) {
+                        final int producer = p;
+                        threads.add(new Thread(() -> {
+                            try {
+                                for (int i = 0; i < perProducer; i++) {
+                                    unit.get().add(event("e" + ((producer + i) % 3)));
+                                }
+                            } catch (Exception err) {
+                                throw new RuntimeException(err);
+                            }
+                        }));
+                    }
+                    for (Thread thread : threads) thread.start();
+                    for (Thread thread : threads) thread.join();
+                    JSONArray events = unit.get().drain();
+                    for (int i = 1; i < events.length(); i++) {
+                        assertNotEquals(events.getJSONObject(i - 1).getString("name"), events.getJSONObject(i).getString("name"));
+                    }
+                    assertEquals(producers * perProducer, total(events));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * MilestoneTest.js
+ * <p>
+ * Testing: Feature, Content and custom milestone events.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class MilestoneTest {
+    static Milestone feature(String name) {
+        return new Milestone("Feature", "Attempted").name(name);
+    }
+
+    static Milestone content(String type) {
+        return new Milestone("Content", "Viewed").type(type);
+    }
+
+    {
+        Describe("Milestone", () -> {
+            Describe("toJson", () -> {
+                It("writes the fields that are set", () -> {
+                    JSONObject json = feature("Scale Recipe").details("d").at(1.5).toJson();
+                    assertEquals("Feature", json.getString("category"));
+                    assertEquals("Attempted", json.getString("action"));
+                    assertEquals("Scale Recipe", json.getString("name"));
+                    assertEquals("d", json.getString("details"));
+                    assertEquals(1.5, json.getDouble("timestamp"), 0.0);
+                    assertFalse(json.has("type"));
+                    assertFalse(json.has("count"));
+                });
+                It("takes the category and action from a stock template", () -> {
+                    Milestone stock = new Milestone(Template.milestone("Feature", "Attempted")).name("a");
+                    JSONObject json = stock.toJson();
+                    assertTrue(json instanceof Template.Json);
+                    assertEquals("Feature", json.getString("category"));
+                    assertEquals("Attempted", json.getString("action"));
+                    assertTrue(stock.isDuplicateOf(feature("a")));
+                    assertEquals(feature("a").fingerprint(), stock.fingerprint());
+                });
+                It("writes the count once collapsed", () -> {
+                    assertEquals(3, feature("a").toJson(3).getInt("count"));
+                });
+                It("matches the fingerprint of its json", () -> {
+                    Milestone custom = Milestone.custom("Custom", "Hit").name("a").details("1");
+                    assertEquals(Fingerprint.of(custom.toJson()), custom.fingerprint());
+                    assertEquals(Fingerprint.of(content("Blog").toJson()), content("Blog").fingerprint());
+                });
+            });
+            Describe("custom", () -> {
+                It("shares one copy of the category and action", () -> {
+                    Milestone custom = Milestone.custom(new String("Custom"), new String("Hit"));
+                    assertSame("Custom", custom.toJson().getString("category"));
+                    assertSame("Hit", custom.toJson().getString("action"));
+                });
+            });
+            Describe("isDuplicateOf", () -> {
+                It("is a duplicate of the same feature", () -> {
+                    assertTrue(feature("a").isDuplicateOf(feature("a")));
+                    assertFalse(feature("a").isDuplicateOf(feature("b")));
+                });
+                It("is not a duplicate when it has more fields", () -> {
+                    assertFalse(feature("a").details("d").isDuplicateOf(feature("a")));
+                });
+                It("treats content without an identifier as a duplicate", () -> {
+                    assertTrue(content("Blog").isDuplicateOf(content("Blog").identifier("id")));
+                    assertFalse(content("Blog").identifier("1").isDuplicateOf(content("Blog").identifier("2")));
+                });
+                It("compares the details of custom milestones", () -> {
+                    assertTrue(Milestone.custom("c", "a").name("n").details("1")
+                            .isDuplicateOf(Milestone.custom("c", "a").name("n").details("1")));
+                    assertFalse(Milestone.custom("c", "a").name("n").details("1")
+                            .isDuplicateOf(Milestone.custom("c", "a").name("n").details("2")));
+                });
+                It("is never a duplicate of an outcome", () -> {
+                    assertFalse(feature("a").isDuplicateOf(new Outcome("Lead Capture", "a", "success")));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * OutcomeTest.js
+ * <p>
+ * Testing: Business outcome events.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class OutcomeTest {
+    {
+        Describe("Outcome", () -> {
+            It("writes the outcome fields", () -> {
+                JSONObject json = new Outcome("Initial Subscription", "Subscribe - Gold", "success")
+                        .method("card")
+                        .term("1m")
+                        .price("$1")
+                        .at(2.0)
+                        .toJson();
+                assertEquals("Initial Subscription", json.getString("superOutcome"));
+                assertEquals("Subscribe - Gold", json.getString("outcome"));
+                assertEquals("success", json.getString("result"));
+                assertEquals("card", json.getString("method"));
+                assertEquals("1m", json.getString("term"));
+                assertEquals("$1", json.getString("price"));
+                assertEquals(2.0, json.getDouble("timestamp"), 0.0);
+                assertFalse(json.has("details"));
+            });
+            It("takes the constant fields from a stock template", () -> {
+                JSONObject json = new Outcome(Template.outcome("Lead Capture", "fail"), "Email").at(2.0).toJson();
+                assertTrue(json instanceof Template.Json);
+                assertEquals("Lead Capture", json.getString("superOutcome"));
+                assertEquals("Email", json.getString("outcome"));
+                assertEquals("fail", json.getString("result"));
+            });
+            It("shares platform and tags with the session", () -> {
+                JSONObject platform = new JSONObject().put("os", "test");
+                JSONArray tags = new JSONArray().put("v1");
+                JSONObject json = new Outcome("Lead Capture", "Email", "success").platform(platform).tags(tags).toJson();
+                assertSame(platform, json.get("platform"));
+                assertSame(tags, json.get("tags"));
+            });
+            It("is never a duplicate", () -> {
+                Outcome outcome = new Outcome("Lead Capture", "Email", "success");
+                assertFalse(outcome.isDuplicateOf(new Outcome("Lead Capture", "Email", "success")));
+            });
+        });
+    }
+}
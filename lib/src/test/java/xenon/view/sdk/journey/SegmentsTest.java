@@ -0,0 +1,121 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * SegmentsTest.js
+ * <p>
+ * Testing: Ordered chain of immutable event arrays.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+import static xenon.view.sdk.journey.JourneyBufferTest.names;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class SegmentsTest {
+    static JSONArray events(String... names) {
+        JSONArray events = new JSONArray();
+        for (String name : names) events.put(new JSONObject().put("name", name));
+        return events;
+    }
+
+    static JSONArray outcomes(String... names) {
+        JSONArray events = new JSONArray();
+        for (String name : names) events.put(new JSONObject().put("outcome", name));
+        return events;
+    }
+
+    {
+        Describe("Segments", () -> {
+            AtomicReference<Segments> unit = new AtomicReference<>(null);
+            AtomicReference<JSONArray> first = new AtomicReference<>(null);
+            BeforeEach(() -> {
+                first.set(events("a", "b"));
+                unit.set(new Segments().add(first.get(), 20).add(events("c"), 10));
+            });
+            It("keeps segments in order", () -> {
+                assertEquals("a,b,c", names(unit.get().toArray()));
+                assertEquals(3, unit.get().length());
+                assertEquals(30, unit.get().bytes());
+            });
+            It("ignores empty arrays", () -> {
+                unit.get().add(new JSONArray(), 5);
+                assertEquals(3, unit.get().length());
+                assertEquals(30, unit.get().bytes());
+            });
+            It("joins a segment it does not own into a new array", () -> {
+                assertNotSame(first.get(), unit.get().toArray());
+                assertEquals("a,b", names(first.get()));
+            });
+            It("hands a single whole segment back as is", () -> {
+                JSONArray only = events("a");
+                assertSame(only, new Segments().add(only, 10).toArray());
+            });
+            It("extends a segment it owns", () -> {
+                JSONArray owned = events("a");
+                JSONArray joined = new Segments().add(owned, true, 10).add(events("b"), 10).toArray();
+                assertSame(owned, joined);
+                assertEquals("a,b", names(joined));
+            });
+            It("moves another chain to its end", () -> {
+                Segments other = new Segments().add(events("d"), 10);
+                unit.get().addAll(other);
+                assertEquals("a,b,c,d", names(unit.get().toArray()));
+                assertTrue(other.isEmpty());
+                assertEquals(0, other.bytes());
+            });
+            Describe("when dropping", () -> {
+                It("drops the first event with its share of the bytes", () -> {
+                    assertEquals("a", ((JSONObject) unit.get().first()).getString("name"));
+                    assertEquals(10, unit.get().dropFirst());
+                    assertEquals("b,c", names(unit.get().toArray()));
+                    assertEquals(20, unit.get().bytes());
+                });
+                It("drops the last event", () -> {
+                    assertEquals(10, unit.get().dropLast());
+                    assertEquals("a,b", names(unit.get().toArray()));
+                });
+                It("drops across segments", () -> {
+                    unit.get().dropFirst();
+                    unit.get().dropFirst();
+                    unit.get().dropFirst();
+                    assertTrue(unit.get().isEmpty());
+                    assertEquals(0, unit.get().bytes());
+                    assertNull(unit.get().first());
+                });
+                It("leaves the array itself alone", () -> {
+                    unit.get().dropFirst();
+                    assertEquals("a,b", names(first.get()));
+                });
+            });
+            Describe("when dropping milestones", () -> {
+                BeforeEach(() -> {
+                    JSONArray mixed = outcomes("o1");
+                    mixed.put(new JSONObject().put("category", "Feature").put("name", "m"));
+                    mixed.put(new JSONObject().put("outcome", "o2"));
+                    unit.set(new Segments().add(mixed, 30));
+                });
+                It("splits the segment around the milestone", () -> {
+                    assertEquals(10, unit.get().dropFirstMilestone());
+                    assertEquals("o1,o2", names(unit.get().toArray()));
+                    assertEquals(2, unit.get().length());
+                    assertEquals(20, unit.get().bytes());
+                });
+                It("reports when there is none", () -> {
+                    unit.get().dropFirstMilestone();
+                    assertEquals(-1, unit.get().dropFirstMilestone());
+                    assertEquals("o1,o2", names(unit.get().toArray()));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Created by lwoydziak on 10/17/26.
+ * <p>
+ * TemplateTest.js
+ * <p>
+ * Testing: Constant fields of a stock event, encoded to UTF-8 JSON once.
+ */
+package xenon.view.sdk.journey;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.json.JSONObject;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.junit.Assert.*;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class TemplateTest {
+    {
+        Describe("Template", () -> {
+            It("encodes the constant fields once", () -> {
+                Template template = Template.outcome("Subscription Renewal", "success");
+                assertEquals("\"superOutcome\":\"Subscription Renewal\",\"result\":\"success\"",
+                        new String(template.json(), StandardCharsets.UTF_8));
+                assertSame(template.json(), template.json());
+            });
+            It("escapes like JSONObject", () -> {
+                Template template = Template.milestone("Gr\u00fc\u00dfe \"x\"", "</a>");
+                assertEquals("\"category\":\"Gr\u00fc\u00dfe \\\"x\\\"\",\"action\":\"<\\/a>\"",
+                        new String(template.json(), StandardCharsets.UTF_8));
+            });
+            It("covers only its own keys", () -> {
+                Template template = Template.milestone("Feature", "Attempted");
+                assertTrue(template.covers("category"));
+                assertTrue(template.covers("action"));
+                assertFalse(template.covers("name"));
+            });
+            It("makes complete json that knows its template", () -> {
+                Template template = Template.milestone("Content", "Viewed");
+                JSONObject json = template.toJson();
+                assertSame(template, ((Template.Json) json).template());
+                assertEquals("Content", json.getString("category"));
+                assertEquals("Viewed", json.getString("action"));
+            });
+            It("fills a stock event in when it is read as json", () -> {
+                JSONObject stock = new Milestone(Template.milestone("Feature", "Attempted")).name("a").at(2.0).toJson(3);
+                JSONObject literal = new Milestone("Feature", "Attempted").name("a").at(2.0).toJson(3);
+                assertEquals(literal.length(), stock.length());
+                assertEquals(3, stock.getInt("count"));
+                assertTrue(stock.similar(literal));
+                assertTrue(literal.similar(new JSONObject(stock.toString())));
+            });
+        });
+    }
+}